@@ -0,0 +1,86 @@
+package other;
+
+import org.junit.Test;
+import util.Date;
+
+import java.io.IOException;
+
+import static org.junit.Assert.*;
+
+/**
+ * This class checks that the AppointmentFormatter prints appointments the same way
+ * as the report format that was built from the toString() methods, for office
+ * appointments with a doctor and imaging appointments with a technician.
+ *
+ * @author Richard Li (rl902)
+ */
+public class AppointmentFormatterTest {
+
+    private final Patient patient = new Patient(new Profile("John", "Doe", new Date(1989, Date.DECEMBER, 13)));
+    private final Doctor doctor = new Doctor(new Profile("Andrew", "Patel", new Date(1967, Date.MARCH, 9)),
+            Location.BRIDGEWATER, Speciality.FAMILY, "01");
+    private final Technician technician = new Technician(new Profile("Jenny", "Patel", new Date(1991, Date.JUNE, 5)),
+            Location.EDISON, 125);
+    private final Date date = new Date(2026, Date.NOVEMBER, 3);
+
+    /**
+     * Builds an appointment line the old way, by joining the toString() of each part.
+     *
+     * @param appointment the appointment
+     * @return the appointment as the reports printed it before the formatter
+     */
+    private static String oldFormat(Appointment appointment) {
+        String text = appointment.getDate() + " " + appointment.getTimeslot() + " "
+                + appointment.getPatient() + " " + appointment.getProvider();
+        if (appointment instanceof Imaging) {
+            text += " for " + ((Imaging) appointment).getRoom() + " imaging.";
+        }
+        return text;
+    }
+
+    /**
+     * Formats an appointment with the AppointmentFormatter.
+     *
+     * @param appointment the appointment
+     * @return the formatted appointment
+     * @throws IOException never, a StringBuilder doesn't throw
+     */
+    private static String format(Appointment appointment) throws IOException {
+        StringBuilder text = new StringBuilder();
+        AppointmentFormatter.appendAppointment(text, appointment);
+        return text.toString();
+    }
+
+    /**
+     * An office appointment with a doctor ends with the speciality and NPI.
+     */
+    @Test
+    public void testDoctorAppointment() throws IOException {
+        Appointment appointment = new Appointment(date, Timeslot.of(1), patient, doctor);
+        assertEquals(oldFormat(appointment), format(appointment));
+        assertEquals("11/03/2026 " + Timeslot.of(1) + " John Doe 12/13/1989 [Andrew Patel 03/09/1967, Location: "
+                + Location.BRIDGEWATER + "] [FAMILY #01]", format(appointment));
+    }
+
+    /**
+     * A technician prints the rate per visit after the location.
+     */
+    @Test
+    public void testTechnician() throws IOException {
+        StringBuilder text = new StringBuilder();
+        AppointmentFormatter.appendProvider(text, technician);
+        assertEquals(technician.toString(), text.toString());
+        assertEquals("[Jenny Patel 06/05/1991, Location: " + Location.EDISON + "] [rate : $125]", text.toString());
+    }
+
+    /**
+     * An imaging appointment ends with the room after the technician.
+     */
+    @Test
+    public void testImagingAppointment() throws IOException {
+        Appointment appointment = new Imaging(date, Timeslot.of(6), patient, technician, Radiology.XRAY);
+        assertEquals(oldFormat(appointment), format(appointment));
+        assertTrue(format(appointment).endsWith("[rate : $125] for XRAY imaging."));
+        assertEquals(format(appointment), appointment.toString());
+    }
+}
@@ -0,0 +1,144 @@
+package other;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import util.Clock;
+import util.Date;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TimeZone;
+
+import static org.junit.Assert.*;
+
+/**
+ * This class runs commands through the scheduler in batch mode and checks the reports.
+ * The clock is fixed so the appointment dates are always bookable.
+ * Must be run from the project folder, where providers.txt is.
+ *
+ * @author Divit Shetty (dps190)
+ */
+public class ClinicManagerTest {
+    private static final long TODAY = 1792324800000L; // 10/18/2026 12:00 PM UTC
+
+    private Path commands;
+    private Path output;
+
+    @Before
+    public void setUp() throws IOException {
+        Date.setClock(Clock.fixed(TODAY), TimeZone.getTimeZone("UTC"));
+        commands = Files.createTempFile("commands", ".txt");
+        output = Files.createTempFile("output", ".txt");
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        Date.setClock(Clock.system(), TimeZone.getDefault());
+        Files.deleteIfExists(commands);
+        Files.deleteIfExists(output);
+    }
+
+    /**
+     * Runs the commands in batch mode.
+     *
+     * @param lines the commands
+     * @return the lines of the output
+     * @throws IOException if a file can't be read or written
+     */
+    private List<String> run(String... lines) throws IOException {
+        Files.write(commands, String.join("\n", lines).getBytes(StandardCharsets.US_ASCII));
+        new ClinicManager().runBatch(commands.toString(), output.toString());
+        return Files.readAllLines(output, StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * Returns the lines of the report that starts with the given title, between the
+     * title and "** end of list **", for the given occurrence of the report.
+     *
+     * @param out the output lines
+     * @param title the start of the report's title line
+     * @param occurrence 0 for the first report with that title, 1 for the second and so on
+     * @return the appointment lines of the report
+     */
+    private static List<String> report(List<String> out, String title, int occurrence) {
+        int start = -1;
+        for (int i = 0; i < out.size(); i++) {
+            if (out.get(i).startsWith(title) && occurrence-- == 0) {
+                start = i + 1;
+                break;
+            }
+        }
+        assertTrue("no report " + title, start >= 0);
+        List<String> lines = new ArrayList<>();
+        for (int i = start; !out.get(i).equals("** end of list **"); i++) {
+            lines.add(out.get(i));
+        }
+        return lines;
+    }
+
+    /**
+     * A patient can hold an office and an imaging appointment at the same timeslot.
+     * Both must be listed, and cancelling one must leave exactly the other one listed.
+     */
+    @Test
+    public void testOfficeAndImagingAtSameTimeslot() throws IOException {
+        List<String> out = run(
+                "D,11/30/2026,1,John,Doe,12/13/1989,01",
+                "T,11/30/2026,1,John,Doe,12/13/1989,xray",
+                "PP",
+                "PI",
+                "C,11/30/2026,1,John,Doe,12/13/1989",
+                "PP",
+                "PL",
+                "Q");
+
+        List<String> byPatient = report(out, "** All Appointments ordered by patient", 0);
+        assertEquals(2, byPatient.size());
+        assertTrue(byPatient.get(0).endsWith("[FAMILY #01]"));
+        assertTrue(byPatient.get(1).endsWith("for XRAY imaging."));
+
+        List<String> imaging = report(out, "** List of radiology appointments", 0);
+        assertEquals(1, imaging.size());
+        assertTrue(imaging.get(0).endsWith("for XRAY imaging."));
+
+        // C cancels the office appointment, the first one booked at that timeslot
+        List<String> afterCancel = report(out, "** All Appointments ordered by patient", 1);
+        assertEquals(1, afterCancel.size());
+        assertTrue(afterCancel.get(0).endsWith("for XRAY imaging."));
+        List<String> byCounty = report(out, "** All Appointments ordered by county", 0);
+        assertEquals(afterCancel, byCounty);
+    }
+
+    /**
+     * The batch summary counts each reason an appointment date is rejected on its own line.
+     */
+    @Test
+    public void testSummaryCountsEachDateReason() throws IOException {
+        ByteArrayOutputStream printed = new ByteArrayOutputStream();
+        PrintStream stdout = System.out;
+        System.setOut(new PrintStream(printed, true, "US-ASCII"));
+        try {
+            run("D,2/30/2027,1,John,Doe,12/13/1989,01",
+                "D,10/1/2026,1,John,Doe,12/13/1989,01",
+                "D,10/18/2026,1,John,Doe,12/13/1989,01",
+                "D,12/1/2027,1,John,Doe,12/13/1989,01",
+                "D,10/24/2026,1,John,Doe,12/13/1989,01",
+                "Q");
+        } finally {
+            System.setOut(stdout);
+        }
+        String summary = printed.toString("US-ASCII");
+        assertTrue(summary.contains("  rejected: 5"));
+        assertTrue(summary.contains("appointment date not a calendar date: 1"));
+        assertTrue(summary.contains("appointment date today or before: 2"));
+        assertTrue(summary.contains("appointment date beyond six months: 1"));
+        assertTrue(summary.contains("appointment date on a weekend: 1"));
+    }
+}
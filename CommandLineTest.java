@@ -0,0 +1,203 @@
+package other;
+
+import org.junit.Test;
+import util.Date;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * This class tests that CommandLine splits and parses a line exactly like the
+ * trim(), split(","), Integer.parseInt and date parsing it replaced, including
+ * the exceptions and their messages.
+ *
+ * @author Divit Shetty (dps190)
+ */
+public class CommandLineTest {
+
+    /**
+     * Points a command line at the bytes of some text, inside a larger buffer
+     * so the line doesn't start at position 0.
+     *
+     * @param text the line
+     * @return the split line
+     */
+    private static CommandLine lineOf(String text) {
+        byte[] bytes = ("##" + text + "##").getBytes(StandardCharsets.US_ASCII);
+        CommandLine line = new CommandLine();
+        line.set(ByteBuffer.wrap(bytes), 2, bytes.length - 2);
+        return line;
+    }
+
+    /**
+     * Indexes an array, throwing the exception message the JVM gives for a bad index.
+     * Once compiled, the JVM may throw a shared exception without a message instead.
+     *
+     * @param array the array
+     * @param i the index
+     * @return the element
+     */
+    private static String element(String[] array, int i) {
+        if (i < 0 || i >= array.length) {
+            throw new ArrayIndexOutOfBoundsException("Index " + i + " out of bounds for length " + array.length);
+        }
+        return array[i];
+    }
+
+    /**
+     * Parses a date the way the scheduler did before CommandLine.
+     *
+     * @param text the field
+     * @return the date
+     */
+    private static Date parseDate(String text) {
+        String[] parts = text.split("/");
+        int month = Integer.parseInt(element(parts, 0));
+        int day = Integer.parseInt(element(parts, 1));
+        int year = Integer.parseInt(element(parts, 2));
+        return new Date(year, month, day);
+    }
+
+    /**
+     * Returns what a call threw, or its result if it didn't throw.
+     *
+     * @param call the call to make
+     * @return the exception class and message, or the result
+     */
+    private static String outcome(java.util.function.Supplier<Object> call) {
+        try {
+            return "value " + call.get();
+        } catch (RuntimeException e) {
+            return e.getClass().getName() + ": " + e.getMessage();
+        }
+    }
+
+    /**
+     * Checks every field, number and date of a line against split and parseInt.
+     *
+     * @param text the line
+     */
+    private static void assertSameAsSplit(String text) {
+        CommandLine line = lineOf(text);
+        String trimmed = text.trim();
+        assertEquals(trimmed, line.toString());
+        assertEquals(trimmed.isEmpty(), line.isEmpty());
+        if (trimmed.isEmpty()) {
+            return; // The scheduler never splits an empty line
+        }
+        String[] fields = trimmed.split(",");
+        assertEquals(text, fields.length, line.size());
+        for (int i = 0; i <= fields.length; i++) {
+            int index = i;
+            assertEquals(text, outcome(() -> element(fields, index)), outcome(() -> line.field(index)));
+            assertEquals(text, outcome(() -> Integer.parseInt(element(fields, index))),
+                    outcome(() -> line.intField(index)));
+            assertEquals(text, outcome(() -> parseDate(element(fields, index))), outcome(() -> line.dateField(index)));
+        }
+    }
+
+    /**
+     * Trailing empty fields are dropped and leading and middle ones are kept, like split.
+     */
+    @Test
+    public void testSplitDropsTrailingEmptyFields() {
+        assertEquals(2, lineOf("D,x,,,").size());
+        assertEquals(3, lineOf(",D,x").size());
+        assertEquals(4, lineOf("D,,,x").size());
+        assertEquals(0, lineOf(",,,").size());
+        assertEquals("", lineOf(",D").field(0));
+        assertSameAsSplit("D,x,,,");
+        assertSameAsSplit(",D,,x,");
+        assertSameAsSplit(",,,");
+        assertSameAsSplit("  \t D , x ,y  ");
+        assertSameAsSplit("   ");
+    }
+
+    /**
+     * Numbers accept one leading sign and overflow past the int range, like Integer.parseInt.
+     */
+    @Test
+    public void testIntFieldMatchesParseInt() {
+        assertEquals(5, lineOf("+5").intField(0));
+        assertEquals(-5, lineOf("-5").intField(0));
+        assertEquals(Integer.MAX_VALUE, lineOf("2147483647").intField(0));
+        assertEquals(Integer.MIN_VALUE, lineOf("-2147483648").intField(0));
+        String[] numbers = {"0", "007", "+5", "-5", "2147483647", "2147483648", "-2147483648", "-2147483649",
+            "99999999999", "+", "-", "+-1", "1 2", "12a", "a", ""};
+        for (String number : numbers) {
+            assertSameAsSplit("X," + number + ",Y");
+        }
+    }
+
+    /**
+     * A bad number gives the same NumberFormatException message as Integer.parseInt.
+     */
+    @Test
+    public void testIntFieldErrorMessage() {
+        try {
+            lineOf("T,2147483648").intField(1);
+            fail("expected NumberFormatException");
+        } catch (NumberFormatException e) {
+            assertEquals("For input string: \"2147483648\"", e.getMessage());
+        }
+    }
+
+    /**
+     * A missing field gives the same exception as indexing past the split array.
+     */
+    @Test
+    public void testMissingFieldMatchesArrayIndex() {
+        try {
+            lineOf("C,12/1/2026,3").field(5);
+            fail("expected ArrayIndexOutOfBoundsException");
+        } catch (ArrayIndexOutOfBoundsException e) {
+            assertEquals("Index 5 out of bounds for length 3", e.getMessage());
+        }
+    }
+
+    /**
+     * Dates are split on "/" like the old parser, including too few parts and empty parts.
+     */
+    @Test
+    public void testDateFieldMatchesSplit() {
+        assertEquals(new Date(1989, 12, 13), lineOf("12/13/1989").dateField(0));
+        String[] dates = {"12/13/1989", "1/2/3", "12/13", "12", "12/13/1989/", "12/13/1989/7", "12//1989",
+            "/12/13/1989", "12/13/", "12/13//", "//", "a/b/c", "+1/-2/3", "12/13/99999999999"};
+        for (String date : dates) {
+            assertSameAsSplit("D," + date);
+        }
+    }
+
+    /**
+     * Random lines of commas, slashes, signs, digits, letters and spaces split and
+     * parse the same as before.
+     */
+    @Test
+    public void testRandomLinesMatchSplit() {
+        Random random = new Random(20261018L);
+        String alphabet = ",,,///+-0123456789 AZaz\t";
+        for (int round = 0; round < 20000; round++) {
+            StringBuilder text = new StringBuilder();
+            int length = random.nextInt(16);
+            for (int i = 0; i < length; i++) {
+                text.append(alphabet.charAt(random.nextInt(alphabet.length())));
+            }
+            assertSameAsSplit(text.toString());
+        }
+    }
+
+    /**
+     * fieldEquals matches whole fields only.
+     */
+    @Test
+    public void testFieldEquals() {
+        CommandLine line = lineOf("PS,D");
+        assertTrue(line.fieldEquals(0, "PS"));
+        assertFalse(line.fieldEquals(0, "P"));
+        assertFalse(line.fieldEquals(1, "DD"));
+        assertFalse(line.fieldEquals(2, "D")); // No such field
+    }
+}
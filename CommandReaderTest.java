@@ -0,0 +1,142 @@
+package other;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+
+import static org.junit.Assert.*;
+
+/**
+ * This class tests that CommandReader ends lines at "\n", "\r\n" and "\r" like
+ * Scanner.nextLine(), including when a line end or a line is split across reads
+ * and when a line is longer than the buffer.
+ *
+ * @author Divit Shetty (dps190)
+ */
+public class CommandReaderTest {
+
+    /**
+     * A stream that hands out at most a few bytes per read, so lines and line ends
+     * are split across refills of the reader's buffer.
+     */
+    private static final class TrickleStream extends InputStream {
+        private final byte[] bytes;
+        private final int chunk;
+        private int position;
+
+        TrickleStream(byte[] bytes, int chunk) {
+            this.bytes = bytes;
+            this.chunk = chunk;
+        }
+
+        @Override
+        public int read() {
+            return (position < bytes.length) ? bytes[position++] & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (position == bytes.length) {
+                return -1;
+            }
+            int count = Math.min(Math.min(len, chunk), bytes.length - position);
+            System.arraycopy(bytes, position, b, off, count);
+            position += count;
+            return count;
+        }
+    }
+
+    /**
+     * Reads every line of a stream.
+     *
+     * @param in the stream
+     * @return the trimmed lines
+     * @throws IOException if the stream can't be read
+     */
+    private static ArrayList<String> readAll(InputStream in) throws IOException {
+        CommandReader reader = new CommandReader(in);
+        CommandLine line = new CommandLine();
+        ArrayList<String> lines = new ArrayList<>();
+        while (reader.next(line)) {
+            lines.add(line.toString());
+        }
+        return lines;
+    }
+
+    private static ArrayList<String> readAll(String text, int chunk) throws IOException {
+        return readAll(new TrickleStream(text.getBytes(StandardCharsets.US_ASCII), chunk));
+    }
+
+    private static ArrayList<String> lines(String... lines) {
+        ArrayList<String> list = new ArrayList<>();
+        for (String line : lines) {
+            list.add(line);
+        }
+        return list;
+    }
+
+    /**
+     * "\n", "\r\n" and "\r" each end one line, and a blank line between them is kept.
+     */
+    @Test
+    public void testLineEnds() throws IOException {
+        String text = "a,b\r\nc\rd\n\r\n\re\r";
+        ArrayList<String> expected = lines("a,b", "c", "d", "", "", "e");
+        assertEquals(expected, readAll(new ByteArrayInputStream(text.getBytes(StandardCharsets.US_ASCII))));
+    }
+
+    /**
+     * Splitting the input at every byte, including between "\r" and "\n", gives the same lines.
+     */
+    @Test
+    public void testLineEndsSplitAcrossRefills() throws IOException {
+        String text = "D,1\r\nT,2\r\n\r\nC,3\rR,4\nPA";
+        ArrayList<String> expected = lines("D,1", "T,2", "", "C,3", "R,4", "PA");
+        for (int chunk = 1; chunk <= text.length(); chunk++) {
+            assertEquals("chunk " + chunk, expected, readAll(text, chunk));
+        }
+    }
+
+    /**
+     * A "\r\n" whose "\r" is the last byte of a full buffer is still one line end.
+     */
+    @Test
+    public void testCrLfSplitAtBufferEnd() throws IOException {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < (1 << 16) - 1; i++) {
+            text.append('x');
+        }
+        text.append("\r\ny\r\n");
+        ArrayList<String> read = readAll(text.toString(), 1 << 16);
+        assertEquals(2, read.size());
+        assertEquals((1 << 16) - 1, read.get(0).length());
+        assertEquals("y", read.get(1));
+    }
+
+    /**
+     * A line longer than the buffer grows it and comes back whole.
+     */
+    @Test
+    public void testLineLongerThanBuffer() throws IOException {
+        StringBuilder longLine = new StringBuilder();
+        for (int i = 0; i < 200000; i++) {
+            longLine.append((char) ('a' + i % 26));
+        }
+        String text = "first\n" + longLine + "\nlast";
+        assertEquals(lines("first", longLine.toString(), "last"), readAll(text, 4096));
+    }
+
+    /**
+     * An empty stream has no lines and a last line without a line end is still read.
+     */
+    @Test
+    public void testEmptyAndUnterminated() throws IOException {
+        assertEquals(lines(), readAll("", 8));
+        assertEquals(lines("Q"), readAll("Q", 8));
+        assertEquals(lines("Q"), readAll("Q\r", 8));
+    }
+}
@@ -1,7 +1,11 @@
 package util;
 
+import org.junit.After;
 import org.junit.Test;
 
+import java.util.Calendar;
+import java.util.TimeZone;
+
 import static org.junit.Assert.*;
 
 /**
@@ -13,6 +17,14 @@ import static org.junit.Assert.*;
 
 public class DateTest {
 
+    /**
+     * Restores the system clock after tests that replace it.
+     */
+    @After
+    public void tearDown() {
+        Date.setClock(Clock.system(), TimeZone.getDefault());
+    }
+
     // Test case 1: Leap year date (valid)
     /**
      * Test case for a valid leap year date (February 29, 2020).
@@ -80,4 +92,66 @@ public class DateTest {
         Date invalidDate4 = new Date(2023, Date.FEBRUARY, -1);
         assertFalse(invalidDate4.isValid());
     }
+
+    // Test case 7: Epoch day and day of week
+    /**
+     * Test case for the packed representation (September 30, 2024).
+     * The date is 19996 days after 01/01/1970 and falls on a Monday.
+     */
+    @Test
+    public void testEpochDayAndDayOfWeek(){
+        Date date = new Date(2024, Date.SEPTEMBER, 30);
+        assertEquals(19996, date.getEpochDay());
+        assertEquals(Calendar.MONDAY, date.getDayOfWeek());
+        assertEquals(0, new Date(1970, Date.JANUARY, 1).getEpochDay());
+    }
+
+    // Test case 8: Comparison and equality on the packed form
+    /**
+     * Test case for compareTo, equals and hashCode on the packed representation.
+     */
+    @Test
+    public void testPackedCompareAndEquals(){
+        Date date1 = new Date(2024, Date.DECEMBER, 31);
+        Date date2 = new Date(2025, Date.JANUARY, 1);
+        assertTrue(date1.compareTo(date2) < 0);
+        assertTrue(date2.compareTo(date1) > 0);
+        assertEquals(date1, new Date(2024, Date.DECEMBER, 31));
+        assertEquals(date1.hashCode(), new Date(2024, Date.DECEMBER, 31).hashCode());
+        assertNotEquals(new Date(2023, Date.FEBRUARY, -1), new Date(2023, Date.JANUARY, 30));
+    }
+
+    // Test case 9: Result codes of the validation pipeline
+    /**
+     * Test case for checkAppointmentDate() and checkBirthDate() result codes.
+     * Dates that aren't calendar dates are reported before any clock checks.
+     */
+    @Test
+    public void testValidationResultCodes(){
+        assertEquals(Date.NOT_A_DATE, new Date(2019, Date.FEBRUARY, 29).checkAppointmentDate());
+        assertEquals(Date.TODAY_OR_PAST, new Date(2000, Date.JANUARY, 3).checkAppointmentDate());
+        assertEquals(Date.NOT_A_DATE, new Date(2023, Date.APRIL, 31).checkBirthDate());
+        assertEquals(Date.VALID, new Date(1989, Date.DECEMBER, 13).checkBirthDate());
+    }
+
+    // Test case 10: Booking window with a fixed clock
+    /**
+     * Test case for the booking window boundaries with the clock fixed at
+     * noon UTC on Monday, September 30, 2024. The window ends on March 30, 2025.
+     */
+    @Test
+    public void testFixedClockBoundaries(){
+        Calendar noon = Calendar.getInstance(TimeZone.getTimeZone("UTC"));
+        noon.clear();
+        noon.set(2024, Calendar.SEPTEMBER, 30, 12, 0);
+        Date.setClock(Clock.fixed(noon.getTimeInMillis()), TimeZone.getTimeZone("UTC"));
+
+        assertEquals(new Date(2024, Date.SEPTEMBER, 30).getEpochDay(), Date.todayEpochDay());
+        assertEquals(Date.TODAY_OR_PAST, new Date(2024, Date.SEPTEMBER, 30).checkAppointmentDate());
+        assertEquals(Date.VALID, new Date(2024, Date.OCTOBER, 1).checkAppointmentDate());
+        assertEquals(Date.WEEKEND, new Date(2024, Date.OCTOBER, 5).checkAppointmentDate());
+        assertEquals(Date.VALID, new Date(2025, Date.MARCH, 28).checkAppointmentDate());
+        assertEquals(Date.BEYOND_WINDOW, new Date(2025, Date.MARCH, 31).checkAppointmentDate());
+        assertEquals(Date.TODAY_OR_FUTURE, new Date(2024, Date.SEPTEMBER, 30).checkBirthDate());
+    }
 }
\ No newline at end of file
@@ -0,0 +1,106 @@
+package other;
+
+import org.junit.Test;
+import util.Date;
+import util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * This class tests that hashCode() is consistent with equals() for the classes
+ * used as keys in the scheduler's indexes: Profile, Person, Patient, Date,
+ * Timeslot and Appointment. Objects that are equal must have the same hash code.
+ *
+ * @author Richard Li (rl902)
+ */
+public class HashContractTest {
+
+    /**
+     * Checks that two objects are equal both ways and have the same hash code.
+     *
+     * @param a the first object
+     * @param b the second object
+     */
+    private static void assertContract(Object a, Object b) {
+        assertEquals(a, b);
+        assertEquals(b, a);
+        assertEquals(a.hashCode(), b.hashCode());
+    }
+
+    /**
+     * Profiles whose names differ only in case are equal and must hash the same,
+     * including characters whose upper and lower cases don't map one to one.
+     */
+    @Test
+    public void testProfileIgnoresCase() {
+        Date dob = new Date(1989, 12, 13);
+        assertContract(new Profile("John", "Doe", dob), new Profile("JOHN", "doe", new Date(1989, 12, 13)));
+        // Final sigma, small sigma and capital sigma are all equal ignoring case
+        assertContract(new Profile("ς", "Doe", dob), new Profile("σ", "DOE", dob));
+        assertContract(new Profile("Σ", "Doe", dob), new Profile("ς", "doe", dob));
+        assertNotEquals(new Profile("John", "Doe", dob), new Profile("John", "Doe", new Date(1989, 12, 14)));
+    }
+
+    /**
+     * A profile's hash code never changes.
+     */
+    @Test
+    public void testProfileHashIsStable() {
+        Profile profile = new Profile("Jane", "Doe", new Date(1990, 5, 5));
+        assertEquals(profile.hashCode(), profile.hashCode());
+    }
+
+    /**
+     * Persons and patients with equal profiles hash the same as each other.
+     */
+    @Test
+    public void testPersonAndPatient() {
+        Profile profile = new Profile("John", "Doe", new Date(1989, 12, 13));
+        Profile upper = new Profile("JOHN", "DOE", new Date(1989, 12, 13));
+        assertContract(new Person(profile), new Person(upper));
+        assertContract(new Patient(profile), new Patient(upper));
+        assertEquals(new Person(profile).hashCode(), new Patient(upper).hashCode());
+    }
+
+    /**
+     * Equal dates hash the same, including dates that aren't on the calendar.
+     */
+    @Test
+    public void testDate() {
+        assertContract(new Date(2024, 2, 29), new Date(2024, 2, 29));
+        assertContract(new Date(2023, 13, 40), new Date(2023, 13, 40));
+        assertNotEquals(new Date(2024, 2, 29), new Date(2024, 3, 1));
+    }
+
+    /**
+     * Shared and newly constructed timeslots with the same slot are equal and hash the same.
+     */
+    @Test
+    public void testTimeslot() {
+        for (int slot = 1; slot <= Timeslot.SLOTS; slot++) {
+            assertContract(Timeslot.of(slot), new Timeslot(slot));
+        }
+    }
+
+    /**
+     * Appointments are equal by date, timeslot and patient, whatever the provider,
+     * and must hash the same so they can be found in a hash map.
+     */
+    @Test
+    public void testAppointment() {
+        Provider doctor = new Doctor(new Profile("Andrew", "Patel", new Date(1965, 1, 1)),
+                Location.BRIDGEWATER, Speciality.FAMILY, "01");
+        Provider other = new Doctor(new Profile("Rachael", "Lim", new Date(1978, 11, 11)),
+                Location.EDISON, Speciality.PEDIATRICIAN, "02");
+        Appointment booked = new Appointment(new Date(2026, 11, 30), Timeslot.of(3),
+                new Patient(new Profile("John", "Doe", new Date(1989, 12, 13))), doctor);
+        Appointment lookup = new Appointment(new Date(2026, 11, 30), new Timeslot(3),
+                new Patient(new Profile("john", "DOE", new Date(1989, 12, 13))), other);
+        assertContract(booked, lookup);
+        assertEquals(booked.hashCode(), booked.hashCode());
+
+        Map<Appointment, String> map = new Map<>();
+        map.put(booked, "booked");
+        assertEquals("booked", map.get(lookup));
+    }
+}
@@ -0,0 +1,57 @@
+package util;
+
+/**
+ * Microbenchmark for the growth policy of the List class.
+ * Appends the same number of elements with the old policy (grow by 4)
+ * and the geometric policy, and reports how many times the array was
+ * copied, how many element references were copied, and the elapsed time.
+ *
+ * @author Richard Li (rl902)
+ */
+public class ListBenchmark {
+    private static final int APPENDS = 200000;
+
+    /**
+     * Appends elements to the list and prints the copy volume caused by growing.
+     *
+     * @param label the name of the policy being measured
+     * @param list the list to append to
+     */
+    private static void measure(String label, List<Integer> list) {
+        long copies = 0;
+        long copiedElements = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < APPENDS; i++) {
+            int before = list.capacity();
+            list.add(i);
+            if (list.capacity() != before) {
+                copies++;
+                copiedElements += list.size() - 1; // Every existing element was copied over
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        System.out.printf("%-22s copies: %7d  elements copied: %,15d  bytes copied (4B refs): %,17d  time: %6d ms%n",
+                label, copies, copiedElements, copiedElements * 4, elapsed / 1000000);
+    }
+
+    /**
+     * Runs the benchmark for the old and new growth policies.
+     *
+     * @param args command-line arguments (not used)
+     */
+    public static void main(String[] args) {
+        System.out.println("Appending " + APPENDS + " elements:");
+
+        List<Integer> oldPolicy = new List<>(true);
+        oldPolicy.setGrowthFactor(1.0); // Grow by 4 like before
+        measure("before (+4)", oldPolicy);
+
+        measure("after (x1.5)", new List<>(true));
+
+        List<Integer> doubling = new List<>(true);
+        doubling.setGrowthFactor(2.0);
+        measure("after (x2.0)", doubling);
+
+        measure("presized", new List<>(APPENDS, true));
+    }
+}
@@ -1,5 +1,6 @@
 package other;
 import util.Date;
+import util.List;
 import org.junit.Before;
 import org.junit.Test;
 import static org.junit.Assert.*;
@@ -47,4 +48,17 @@ public class ListTest {
         assertEquals(0, providerList.size()); // Verify size is back to 0
         assertFalse(providerList.contains(technician)); // Verify Technician was removed
     }
+
+    @Test
+    public void testIndexedAddAndRemove() {
+        List<Provider> indexedList = new List<>(true); // List backed by a hash index
+        indexedList.add(doctor);
+        indexedList.add(technician);
+        indexedList.add(doctor); // Duplicate is ignored
+        assertEquals(2, indexedList.size());
+        assertEquals(1, indexedList.indexOf(technician));
+        indexedList.remove(doctor);
+        assertFalse(indexedList.contains(doctor)); // Verify Doctor was removed
+        assertEquals(0, indexedList.indexOf(technician)); // Technician shifted to the front
+    }
 }
\ No newline at end of file
@@ -0,0 +1,149 @@
+package util;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * This class tests the Map class: storing, replacing and removing keys while the
+ * hash index grows, removing keys from probe runs that wrap around the end of the
+ * table, and listing the keys.
+ *
+ * @author Richard Li (rl902)
+ */
+public class MapTest {
+
+    /**
+     * A key with a chosen hash code, so tests can decide which bucket it lands in.
+     */
+    private static final class Key {
+        private final int id;
+        private final int hash;
+
+        Key(int id, int hash) {
+            this.id = id;
+            this.hash = hash;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof Key && ((Key) obj).id == id;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    /**
+     * Keys put while the table grows many times can all be found, replaced and removed.
+     */
+    @Test
+    public void testPutGetRemoveAcrossResize() {
+        Map<Integer, String> map = new Map<>();
+        for (int i = 0; i < 1000; i++) {
+            map.put(i, "v" + i);
+        }
+        assertEquals(1000, map.size());
+        for (int i = 0; i < 1000; i++) {
+            assertEquals("v" + i, map.get(i));
+        }
+
+        map.put(500, "replaced");
+        assertEquals(1000, map.size()); // Replacing doesn't add a key
+        assertEquals("replaced", map.get(500));
+
+        for (int i = 0; i < 1000; i += 2) {
+            assertEquals((i == 500) ? "replaced" : "v" + i, map.remove(i));
+        }
+        assertEquals(500, map.size());
+        for (int i = 0; i < 1000; i++) {
+            if (i % 2 == 0) {
+                assertFalse(map.containsKey(i));
+                assertNull(map.get(i));
+            } else {
+                assertEquals("v" + i, map.get(i));
+            }
+        }
+        assertNull(map.remove(0)); // Already removed
+    }
+
+    /**
+     * Removing a key from a probe run that wraps from the last bucket to the first
+     * must keep the keys after it reachable.
+     */
+    @Test
+    public void testRemoveWrapsAroundTable() {
+        Map<Key, Integer> map = new Map<>(4); // A table of 8 buckets
+        Key first = new Key(1, 7); // Home bucket is the last one
+        Key second = new Key(2, 15); // Same home bucket, wraps to bucket 0
+        Key third = new Key(3, 23); // Same home bucket, wraps to bucket 1
+        Key other = new Key(4, 0); // Home bucket 0, pushed behind the wrapped keys
+        map.put(first, 1);
+        map.put(second, 2);
+        map.put(third, 3);
+        map.put(other, 4);
+
+        assertEquals(Integer.valueOf(1), map.remove(first));
+        assertNull(map.get(first));
+        assertEquals(Integer.valueOf(2), map.get(second));
+        assertEquals(Integer.valueOf(3), map.get(third));
+        assertEquals(Integer.valueOf(4), map.get(other));
+
+        assertEquals(Integer.valueOf(3), map.remove(third));
+        assertEquals(Integer.valueOf(2), map.get(second));
+        assertEquals(Integer.valueOf(4), map.get(other));
+        assertEquals(2, map.size());
+
+        map.put(first, 10); // Reuses the freed buckets
+        assertEquals(Integer.valueOf(10), map.get(first));
+        assertEquals(Integer.valueOf(4), map.remove(other));
+        assertEquals(Integer.valueOf(2), map.get(second));
+        assertEquals(Integer.valueOf(10), map.get(first));
+    }
+
+    /**
+     * Clearing empties the map and leaves it usable.
+     */
+    @Test
+    public void testClear() {
+        Map<Integer, Integer> map = new Map<>();
+        for (int i = 0; i < 20; i++) {
+            map.put(i, i);
+        }
+        map.clear();
+        assertTrue(map.isEmpty());
+        assertFalse(map.containsKey(3));
+        map.put(3, 30);
+        assertEquals(Integer.valueOf(30), map.get(3));
+        assertEquals(1, map.size());
+    }
+
+    /**
+     * keys() lists every key once, and appended elements of an indexed list can be found.
+     */
+    @Test
+    public void testKeysAndAppend() {
+        Map<Integer, Integer> map = new Map<>();
+        for (int i = 0; i < 50; i++) {
+            map.put(i, i);
+        }
+        map.remove(10);
+        List<Integer> keys = map.keys();
+        assertEquals(49, keys.size());
+        for (int i = 0; i < 50; i++) {
+            assertEquals(i != 10, keys.contains(i));
+        }
+
+        List<Integer> indexed = new List<>(true);
+        for (int i = 0; i < 50; i++) {
+            indexed.append(i);
+        }
+        assertEquals(50, indexed.size());
+        assertTrue(indexed.contains(49));
+        indexed.remove(0);
+        assertFalse(indexed.contains(0));
+        assertTrue(indexed.contains(25));
+    }
+}
@@ -0,0 +1,122 @@
+package other;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+
+import static org.junit.Assert.*;
+
+/**
+ * This class tests that MappedCommandReader splits a file into the same lines as
+ * CommandReader when the file is mapped in small windows, so lines and line ends
+ * fall across the edges of the windows.
+ *
+ * @author Divit Shetty (dps190)
+ */
+public class MappedCommandReaderTest {
+    private Path file; // The command file of the current test
+
+    /**
+     * Deletes the command file after each test.
+     */
+    @After
+    public void tearDown() throws IOException {
+        if (file != null) {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    /**
+     * Writes the commands to a new file and reads every line back with the given window size.
+     *
+     * @param text the contents of the file
+     * @param windowSize the number of bytes to map at a time
+     * @return the trimmed lines
+     * @throws IOException if the file can't be written or read
+     */
+    private ArrayList<String> readAll(String text, int windowSize) throws IOException {
+        if (file == null) {
+            file = Files.createTempFile("commands", ".txt");
+        }
+        Files.write(file, text.getBytes(StandardCharsets.US_ASCII));
+        ArrayList<String> lines = new ArrayList<>();
+        try (MappedCommandReader reader = new MappedCommandReader(file, windowSize)) {
+            CommandLine line = new CommandLine();
+            while (reader.next(line)) {
+                lines.add(line.toString());
+            }
+        }
+        return lines;
+    }
+
+    private static ArrayList<String> lines(String... lines) {
+        ArrayList<String> list = new ArrayList<>();
+        for (String line : lines) {
+            list.add(line);
+        }
+        return list;
+    }
+
+    /**
+     * Lines that run past the end of a window come back whole.
+     */
+    @Test
+    public void testLineSpanningWindow() throws IOException {
+        assertEquals(lines("D,12/1/2026,1", "T,12/2/2026,2"), readAll("D,12/1/2026,1\nT,12/2/2026,2\n", 8));
+    }
+
+    /**
+     * A "\r\n" whose "\r" is the last byte of a window is one line end, not two.
+     */
+    @Test
+    public void testCrLfSplitAcrossWindows() throws IOException {
+        assertEquals(lines("abc", "de"), readAll("abc\r\nde\r\n", 4)); // "\r" ends the first window
+        assertEquals(lines("abc", "", "de"), readAll("abc\r\r\nde", 4)); // A blank line in between
+    }
+
+    /**
+     * A line longer than the window grows the window.
+     */
+    @Test
+    public void testLineLongerThanWindow() throws IOException {
+        StringBuilder longLine = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            longLine.append((char) ('a' + i % 26));
+        }
+        assertEquals(lines("x", longLine.toString(), "y"), readAll("x\n" + longLine + "\ny", 16));
+    }
+
+    /**
+     * An empty file has no lines and a last line without a line end is still read.
+     */
+    @Test
+    public void testEmptyFileAndUnterminatedLine() throws IOException {
+        assertEquals(lines(), readAll("", 4));
+        assertEquals(lines("Q"), readAll("Q", 4));
+        assertEquals(lines("PA", "Q"), readAll("PA\r\nQ", 4));
+    }
+
+    /**
+     * Every window size from one byte up gives the same lines as reading the stream.
+     */
+    @Test
+    public void testEveryWindowSizeMatchesStream() throws IOException {
+        String text = "D,11/18/2026,1,John,Doe,12/13/1989,120\r\n\r\n  T,11/18/2026,2 ,Jane,Roe,1/1/1990,xray\r"
+                + "C,11/18/2026,1,John,Doe,12/13/1989\n\n\rPA\r\nQ";
+        CommandReader stream = new CommandReader(new ByteArrayInputStream(text.getBytes(StandardCharsets.US_ASCII)));
+        CommandLine line = new CommandLine();
+        ArrayList<String> expected = new ArrayList<>();
+        while (stream.next(line)) {
+            expected.add(line.toString());
+        }
+        for (int windowSize = 1; windowSize <= text.length() + 1; windowSize++) {
+            assertEquals("window " + windowSize, expected, readAll(text, windowSize));
+        }
+    }
+}
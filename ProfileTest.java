@@ -92,4 +92,31 @@ public class ProfileTest {
         assertEquals(1, profile1.compareTo(profile2));
     }
 
-}
\ No newline at end of file
+    /**
+     * A pooled patient is shared when spelled the same, and a differently cased
+     * profile keeps its names but matches the pooled one by id.
+     * The patient leaves the pool with its last appointment.
+     */
+    @Test
+    public void testPooledProfiles() {
+        ProfilePool pool = new ProfilePool();
+        Profile stored = pool.intern(new Profile("John", "Doe", new Date(1989, 12, 13)));
+        pool.retain(stored);
+
+        assertSame(stored, pool.intern(new Profile("John", "Doe", new Date(1989, 12, 13))));
+        Profile upper = pool.intern(new Profile("JOHN", "DOE", new Date(1989, 12, 13)));
+        assertNotSame(stored, upper);
+        assertEquals("JOHN", upper.getFname());
+        assertEquals(stored, upper);
+        assertEquals(stored.hashCode(), upper.hashCode());
+        assertNotEquals(stored, pool.intern(new Profile("Jane", "Doe", new Date(1989, 12, 13))));
+
+        pool.retain(upper);
+        pool.release(stored);
+        assertEquals(1, pool.size());
+        pool.release(upper);
+        assertEquals(0, pool.size());
+        assertEquals(stored, new Profile("john", "doe", new Date(1989, 12, 13)));
+    }
+
+}
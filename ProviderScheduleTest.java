@@ -0,0 +1,82 @@
+package other;
+
+import org.junit.Before;
+import org.junit.Test;
+import util.Date;
+
+import static org.junit.Assert.*;
+
+/**
+ * This class tests that ProviderSchedule sets and clears the bit of each booked
+ * timeslot in a provider's mask for the right date only.
+ *
+ * @author Richard Li (rl902)
+ */
+public class ProviderScheduleTest {
+    private ProviderSchedule schedule;
+    private Doctor doctor;
+    private Technician technician;
+    private Patient patient;
+
+    @Before
+    public void setUp() {
+        schedule = new ProviderSchedule();
+        doctor = new Doctor(new Profile("ANDREW", "PATEL", new Date(1989, 1, 21)),
+                Location.BRIDGEWATER, Speciality.FAMILY, "01");
+        technician = new Technician(new Profile("GARY", "JOHNSON", new Date(1987, 11, 14)),
+                Location.PISCATAWAY, 110);
+        patient = new Patient(new Profile("JOHN", "DOE", new Date(1990, 5, 5)));
+    }
+
+    private Appointment appointment(Provider provider, Date date, int slot) {
+        return new Appointment(date, Timeslot.of(slot), patient, provider);
+    }
+
+    /**
+     * Booking sets one bit per timeslot and releasing clears only that bit.
+     */
+    @Test
+    public void testBookAndRelease() {
+        Date date = new Date(2026, 11, 16);
+        schedule.book(appointment(doctor, date, 1));
+        schedule.book(appointment(doctor, date, 12));
+        assertEquals(ProviderSchedule.bit(Timeslot.of(1)) | ProviderSchedule.bit(Timeslot.of(12)),
+                schedule.bookedSlots(doctor, date));
+        assertTrue(schedule.isBooked(doctor, date, Timeslot.of(12)));
+        assertFalse(schedule.isBooked(doctor, date, Timeslot.of(2)));
+        assertEquals(ProviderSchedule.ALL_SLOTS & ~0x801, schedule.freeSlots(doctor, date));
+
+        schedule.release(appointment(doctor, date, 1));
+        assertFalse(schedule.isBooked(doctor, date, Timeslot.of(1)));
+        assertTrue(schedule.isBooked(doctor, date, Timeslot.of(12)));
+
+        schedule.release(appointment(doctor, date, 12));
+        assertEquals(0, schedule.bookedSlots(doctor, date));
+        assertEquals(ProviderSchedule.ALL_SLOTS, schedule.freeSlots(doctor, date));
+    }
+
+    /**
+     * Masks are kept per provider and per date, including dates before the first one booked.
+     */
+    @Test
+    public void testMasksArePerProviderAndDate() {
+        Date later = new Date(2026, 12, 30);
+        Date earlier = new Date(2026, 11, 2);
+        schedule.book(appointment(doctor, later, 3));
+        schedule.book(appointment(doctor, earlier, 4)); // Grows the days before the first one
+        schedule.book(appointment(technician, later, 5));
+
+        assertEquals(ProviderSchedule.bit(Timeslot.of(3)), schedule.bookedSlots(doctor, later));
+        assertEquals(ProviderSchedule.bit(Timeslot.of(4)), schedule.bookedSlots(doctor, earlier));
+        assertEquals(ProviderSchedule.bit(Timeslot.of(5)), schedule.bookedSlots(technician, later));
+        assertEquals(0, schedule.bookedSlots(technician, earlier));
+        assertEquals(0, schedule.bookedSlots(doctor, new Date(2026, 12, 1)));
+
+        schedule.release(appointment(technician, earlier, 5)); // Nothing booked that day
+        assertEquals(ProviderSchedule.bit(Timeslot.of(5)), schedule.bookedSlots(technician, later));
+
+        schedule.clear();
+        assertEquals(0, schedule.bookedSlots(doctor, later));
+        assertEquals(0, schedule.bookedSlots(technician, later));
+    }
+}
@@ -0,0 +1,157 @@
+package util;
+
+import org.junit.After;
+import org.junit.Test;
+import other.*;
+
+import java.util.Comparator;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * This class tests that the parallel sort mode of the Sort class orders
+ * appointments exactly like the sequential mode for every sorting key,
+ * and that the orderings used by the sorted views are total.
+ * Each test builds a randomized schedule with many ties so stability matters.
+ *
+ * @author Richard Li (rl902)
+ */
+public class SortTest {
+    private static final char[] KEYS = {'A', 'P', 'L', 'O', 'I'};
+    private static final String[] NAMES = {"JOHN", "JANE", "ALICE", "BOB", "CARL", "DANA"};
+    private static final int SCHEDULE_SIZE = 20000;
+
+    /**
+     * Restores the default parallel threshold after each test.
+     */
+    @After
+    public void tearDown() {
+        Sort.setParallelThreshold(Sort.DEFAULT_PARALLEL_THRESHOLD);
+    }
+
+    /**
+     * Builds a randomized schedule of office and imaging appointments.
+     *
+     * @param random the source of randomness
+     * @param size the number of appointments
+     * @return the schedule in random order
+     */
+    private List<Appointment> randomSchedule(Random random, int size) {
+        Location[] locations = Location.values();
+        Provider[] providers = new Provider[12];
+        for (int i = 0; i < providers.length; i++) {
+            Profile profile = new Profile(NAMES[i % NAMES.length], NAMES[(i * 5) % NAMES.length],
+                    new Date(1970 + i, 1 + i, 1 + i));
+            if (i % 2 == 0) {
+                providers[i] = new Doctor(profile, locations[i % locations.length], Speciality.FAMILY, "" + i);
+            } else {
+                providers[i] = new Technician(profile, locations[i % locations.length], 100 + i);
+            }
+        }
+
+        List<Appointment> schedule = new List<>(size, true);
+        for (int i = 0; i < size; i++) {
+            Date date = new Date(2024, 1 + random.nextInt(6), 1 + random.nextInt(28));
+            Timeslot timeslot = Timeslot.of(1 + random.nextInt(12));
+            Profile profile = new Profile(NAMES[random.nextInt(NAMES.length)], NAMES[random.nextInt(NAMES.length)],
+                    new Date(1990, 1 + random.nextInt(12), 1 + random.nextInt(28)));
+            Patient patient = new Patient(profile);
+            Provider provider = providers[random.nextInt(providers.length)];
+            if (provider instanceof Technician) {
+                Radiology room = Radiology.values()[random.nextInt(Radiology.values().length)];
+                schedule.add(new Imaging(date, timeslot, patient, provider, room));
+            } else {
+                schedule.add(new Appointment(date, timeslot, patient, provider));
+            }
+        }
+        return schedule;
+    }
+
+    /**
+     * Copies a list so both sort modes start from the same order.
+     *
+     * @param list the list to copy
+     * @return a new list with the same elements in the same order
+     */
+    private List<Appointment> copy(List<Appointment> list) {
+        List<Appointment> copy = new List<>(list.size(), true);
+        for (Appointment appointment : list) {
+            copy.add(appointment);
+        }
+        return copy;
+    }
+
+    /**
+     * Sorts the same randomized schedules sequentially and in parallel with the comparator
+     * of every key and checks both produce the same element at every position.
+     */
+    @Test
+    public void testParallelMatchesSequential() {
+        Random random = new Random(20240930L);
+        for (int round = 0; round < 3; round++) {
+            List<Appointment> schedule = randomSchedule(random, SCHEDULE_SIZE);
+            for (char key : KEYS) {
+                List<Appointment> sequential = copy(schedule);
+                List<Appointment> parallel = copy(schedule);
+                Comparator<Appointment> order = (a1, a2) -> Sort.compareAppointments(a1, a2, key);
+
+                Sort.setParallelThreshold(Integer.MAX_VALUE);
+                Sort.sort(sequential, order);
+                Sort.setParallelThreshold(2);
+                Sort.sort(parallel, order);
+
+                assertEquals(sequential.size(), parallel.size());
+                for (int i = 0; i < sequential.size(); i++) {
+                    assertSame("key " + key + " position " + i, sequential.get(i), parallel.get(i));
+                }
+            }
+        }
+    }
+
+    /**
+     * Sorting an already sorted schedule in parallel must not change it.
+     */
+    @Test
+    public void testParallelSortedInputUnchanged() {
+        List<Appointment> schedule = randomSchedule(new Random(7L), SCHEDULE_SIZE);
+        Comparator<Appointment> order = (a1, a2) -> Sort.compareAppointments(a1, a2, 'A');
+        Sort.setParallelThreshold(Integer.MAX_VALUE);
+        Sort.sort(schedule, order);
+        List<Appointment> expected = copy(schedule);
+
+        Sort.setParallelThreshold(2);
+        Sort.sort(schedule, order);
+        for (int i = 0; i < expected.size(); i++) {
+            assertSame(expected.get(i), schedule.get(i));
+        }
+    }
+
+    /**
+     * An office and an imaging appointment of one patient at the same timeslot must
+     * both be kept by the views of every key, and each can be removed on its own.
+     */
+    @Test
+    public void testAppointmentOrderKeepsOfficeAndImagingAtSameSlot() {
+        Date date = new Date(2026, 11, 18);
+        Patient patient = new Patient(new Profile("JOHN", "DOE", new Date(1990, 5, 5)));
+        Doctor doctor = new Doctor(new Profile("ANDREW", "PATEL", new Date(1989, 1, 21)),
+                Location.BRIDGEWATER, Speciality.FAMILY, "01");
+        Technician technician = new Technician(new Profile("GARY", "JOHNSON", new Date(1987, 11, 14)),
+                Location.BRIDGEWATER, 110);
+        Appointment office = new Appointment(date, Timeslot.of(1), patient, doctor);
+        Appointment imaging = new Imaging(date, Timeslot.of(1), patient, technician, Radiology.XRAY);
+
+        for (char key : new char[] {'A', 'P', 'L'}) {
+            SortedView<Appointment> view = new SortedView<>(Sort.appointmentOrder(key));
+            assertTrue(view.add(imaging));
+            assertTrue("key " + key, view.add(office));
+            assertEquals(2, view.size());
+            assertFalse(view.add(office)); // The same appointment again
+
+            assertTrue(view.remove(imaging));
+            assertEquals(1, view.size());
+            assertSame("key " + key, office, view.iterator().next());
+        }
+    }
+}
@@ -3,6 +3,8 @@
  */
 package other;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import util.Date;
 
 /**
@@ -10,10 +12,11 @@ import util.Date;
  * The appointment includes details such as the date, timeslot, patient profile, and provider.
  */
 public class Appointment implements Comparable<Appointment> {
-    protected Date date;
-    protected Timeslot timeslot;
-    protected Person patient;
-    protected Person provider;
+    protected final Date date;
+    protected final Timeslot timeslot;
+    protected final Person patient;
+    protected final Person provider;
+    private int hash; // Cached hash code, 0 until first computed
 
     /**
      * Constructs an Appointment instance with the specified date, timeslot, patient, and provider.
@@ -117,27 +120,34 @@ public class Appointment implements Comparable<Appointment> {
                 this.patient.equals(other.patient);
     }
 
+    /**
+     * Returns a hash code consistent with equals, based on the date, timeslot and patient.
+     * The fields never change, so the hash is cached after the first call.
+     *
+     * @return the hash code of the appointment
+     */
     @Override
-    public String toString() {
-        // Extract the provider's name
-        String providerName = provider.toString();  // Assuming provider's toString provides the name
-
-        // Extract the provider's location (town) if the provider is a type of Provider
-        String providerTown = (provider instanceof Provider) ? ((Provider) provider).getLocation().toString() : "N/A";
-
-        // Extract the provider's speciality if the provider is a Doctor
-        String providerSpec = (provider instanceof Doctor) ? ((Doctor) provider).getSpeciality().toString() : "N/A";
-
-        // Extract the patient details
-        String patientDetails = patient.toString();  // Assuming patient's toString provides relevant details
+    public int hashCode() {
+        if (date == null) return 0;
+        int h = hash;
+        if (h == 0) {
+            h = date.hashCode();
+            h = 31 * h + timeslot.hashCode();
+            h = 31 * h + patient.hashCode();
+            hash = h;
+        }
+        return h;
+    }
 
-        // Format the output string
-        return String.format("%s %s %s %s",
-                date.toString(),
-                timeslot.toString(),
-                patientDetails,
-                providerName
-        );
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder(128);
+        try {
+            AppointmentFormatter.appendAppointment(text, this);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // StringBuilder never throws
+        }
+        return text.toString();
     }
 
 
@@ -0,0 +1,139 @@
+package other;
+
+import java.io.IOException;
+import util.Date;
+
+/**
+ * This class writes appointments in the format used by the reports straight into
+ * an Appendable. Numbers are appended digit by digit and names, locations and
+ * timeslots are appended from strings that already exist, so printing an
+ * appointment doesn't build any temporary strings or parse format patterns.
+ * The output is the same as the toString() methods of the classes involved.
+ *
+ * @author Richard Li (rl902)
+ */
+public final class AppointmentFormatter {
+
+    private AppointmentFormatter() {
+    }
+
+    /**
+     * Appends an appointment as "date timeslot patient [provider]", followed by the
+     * room for imaging appointments.
+     *
+     * @param out where to append the text
+     * @param appointment the appointment
+     * @throws IOException if the Appendable throws
+     */
+    public static void appendAppointment(Appendable out, Appointment appointment) throws IOException {
+        appendDate(out, appointment.getDate());
+        out.append(' ').append(appointment.getTimeslot().toString()).append(' ');
+        appendProfile(out, appointment.getPatient().getProfile());
+        out.append(' ');
+        appendProvider(out, appointment.getProvider());
+        if (appointment instanceof Imaging) {
+            out.append(" for ").append(((Imaging) appointment).getRoom().name()).append(" imaging.");
+        }
+    }
+
+    /**
+     * Appends a provider as "[profile, Location: location] " followed by the
+     * speciality and NPI of a doctor or the rate of a technician.
+     *
+     * @param out where to append the text
+     * @param provider the provider
+     * @throws IOException if the Appendable throws
+     */
+    public static void appendProvider(Appendable out, Provider provider) throws IOException {
+        out.append('[');
+        appendProfile(out, provider.getProfile());
+        out.append(", Location: ").append(provider.getLocation().toString()).append("] ");
+        if (provider instanceof Doctor) {
+            Doctor doctor = (Doctor) provider;
+            out.append('[').append(doctor.getSpeciality().name()).append(" #").append(doctor.getNpi()).append(']');
+        } else if (provider instanceof Technician) {
+            out.append("[rate : $");
+            appendNumber(out, provider.rate());
+            out.append(']');
+        }
+    }
+
+    /**
+     * Appends a profile as "first last dob".
+     *
+     * @param out where to append the text
+     * @param profile the profile
+     * @throws IOException if the Appendable throws
+     */
+    public static void appendProfile(Appendable out, Profile profile) throws IOException {
+        out.append(profile.getFname()).append(' ').append(profile.getLname()).append(' ');
+        appendDate(out, profile.getDob());
+    }
+
+    /**
+     * Appends a date in MM/DD/YYYY format.
+     *
+     * @param out where to append the text
+     * @param date the date
+     * @throws IOException if the Appendable throws
+     */
+    public static void appendDate(Appendable out, Date date) throws IOException {
+        appendPadded(out, date.getMonth(), 2);
+        out.append('/');
+        appendPadded(out, date.getDay(), 2);
+        out.append('/');
+        appendPadded(out, date.getYear(), 4);
+    }
+
+    /**
+     * Appends a number with leading zeros up to the given width, like %0Nd.
+     *
+     * @param out where to append the text
+     * @param value the number
+     * @param width the minimum number of digits
+     * @throws IOException if the Appendable throws
+     */
+    private static void appendPadded(Appendable out, int value, int width) throws IOException {
+        if (value < 0) {
+            out.append(String.format("%0" + width + "d", value)); // Rare, let the formatter place the sign
+            return;
+        }
+        while (width > 1 && value < pow10(width - 1)) {
+            out.append('0');
+            width--;
+        }
+        appendNumber(out, value);
+    }
+
+    /**
+     * Returns 10 to the given power.
+     *
+     * @param exponent the power, at most 9
+     * @return 10 to the power
+     */
+    private static int pow10(int exponent) {
+        int result = 1;
+        for (int i = 0; i < exponent; i++) {
+            result *= 10;
+        }
+        return result;
+    }
+
+    /**
+     * Appends the decimal digits of a number.
+     *
+     * @param out where to append the text
+     * @param value the number
+     * @throws IOException if the Appendable throws
+     */
+    private static void appendNumber(Appendable out, int value) throws IOException {
+        if (value < 0) {
+            out.append(Integer.toString(value));
+            return;
+        }
+        if (value >= 10) {
+            appendNumber(out, value / 10);
+        }
+        out.append((char) ('0' + value % 10));
+    }
+}
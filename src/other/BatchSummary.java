@@ -0,0 +1,117 @@
+package other;
+
+import java.io.PrintStream;
+
+/**
+ * This class counts the outcomes of the commands run by the scheduler, so a batch
+ * run can report how many appointments were booked, cancelled and rescheduled and
+ * why the others were rejected.
+ *
+ * @author Divit Shetty (dps190)
+ */
+public class BatchSummary {
+    // Outcomes of a command
+    public static final int BOOKED = 0;
+    public static final int CANCELLED = 1;
+    public static final int RESCHEDULED = 2;
+    public static final int DATE_NOT_A_DATE = 3;
+    public static final int DATE_TODAY_OR_PAST = 4;
+    public static final int DATE_BEYOND_WINDOW = 5;
+    public static final int DATE_WEEKEND = 6;
+    public static final int INVALID_DOB = 7;
+    public static final int UNKNOWN_PROVIDER = 8;
+    public static final int TIMESLOT_TAKEN = 9;
+    public static final int NO_TECHNICIAN = 10;
+    public static final int NOT_FOUND = 11;
+    public static final int INVALID_COMMAND = 12;
+
+    private static final int FIRST_REJECTION = DATE_NOT_A_DATE;
+    private static final String[] REASONS = {
+        null, null, null,
+        "appointment date not a calendar date",
+        "appointment date today or before",
+        "appointment date beyond six months",
+        "appointment date on a weekend",
+        "invalid date of birth",
+        "unknown provider",
+        "timeslot already taken",
+        "no technician or room available",
+        "appointment not found",
+        "invalid command or data"
+    };
+
+    private final long[] counts = new long[REASONS.length]; // The number of commands with each outcome
+    private long commands; // The number of commands run
+
+    /**
+     * Counts a command that was run.
+     */
+    public void command() {
+        commands++;
+    }
+
+    /**
+     * Counts the outcome of a command.
+     *
+     * @param outcome one of the outcome constants
+     */
+    public void record(int outcome) {
+        counts[outcome]++;
+    }
+
+    /**
+     * Returns the number of commands with the given outcome.
+     *
+     * @param outcome one of the outcome constants
+     * @return the count
+     */
+    public long count(int outcome) {
+        return counts[outcome];
+    }
+
+    /**
+     * Returns the number of commands run.
+     *
+     * @return the number of commands
+     */
+    public long commands() {
+        return commands;
+    }
+
+    /**
+     * Returns the number of commands that were rejected for any reason.
+     *
+     * @return the number of rejected commands
+     */
+    public long rejected() {
+        long total = 0;
+        for (int i = FIRST_REJECTION; i < counts.length; i++) {
+            total += counts[i];
+        }
+        return total;
+    }
+
+    /**
+     * Prints the counts, the elapsed time and the throughput.
+     *
+     * @param out where to print the summary
+     * @param elapsedNanos how long the commands took to run, in nanoseconds
+     */
+    public void print(PrintStream out, long elapsedNanos) {
+        long millis = elapsedNanos / 1000000;
+        long perSecond = (elapsedNanos == 0) ? commands : commands * 1000000000L / elapsedNanos;
+        out.println("Batch summary:");
+        out.println("  commands: " + commands);
+        out.println("  booked: " + counts[BOOKED]);
+        out.println("  cancelled: " + counts[CANCELLED]);
+        out.println("  rescheduled: " + counts[RESCHEDULED]);
+        out.println("  rejected: " + rejected());
+        for (int i = FIRST_REJECTION; i < counts.length; i++) {
+            if (counts[i] > 0) {
+                out.println("    " + REASONS[i] + ": " + counts[i]);
+            }
+        }
+        out.println("  elapsed: " + millis + " ms");
+        out.println("  throughput: " + perSecond + " commands/sec");
+    }
+}
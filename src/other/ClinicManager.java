@@ -1,10 +1,17 @@
 package other;
+import java.io.BufferedOutputStream;
 import java.io.File;
+import java.io.FileOutputStream;
 import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Paths;
 import java.util.Scanner;
 import util.Date;
 import util.List;
+import util.Map;
 import util.Sort;
+import util.SortedView;
 
 /**
  * This class represents the entire scheduler of the program.
@@ -16,114 +23,222 @@ import util.Sort;
 
 public class ClinicManager {
     private List<Appointment> appointments;
+    private SortedView<Appointment> byDate; //appointments kept in PA order
+    private SortedView<Appointment> byPatient; //appointments kept in PP order
+    private SortedView<Appointment> byCounty; //appointments kept in PL order, filtered for PO and PI
+    private ProviderSchedule schedule; //booked timeslots of each provider by date
+    private RoomSchedule rooms; //booked timeslots of each imaging room by date
+    private PatientIndex byPatientSlot; //appointments by patient, date and timeslot for C and R
+    private ProfilePool profiles; //the shared profile of each patient with an appointment
+    private CreditLedger credits; //running appointment counts and credit of each provider
     private List<Provider> providers; //doctors and technicians
     private List<Technician> technicianRotation;
-    private Scanner scanner;
+    private TechnicianScheduler technicianScheduler; //assigns technicians in rotation order
+    private PrintStream out; //where command output goes, System.out unless running a batch
+    private ReportWriter report; //buffers the lines of the print commands
+    private BatchSummary summary; //counts the outcome of each command
 
     public ClinicManager() {
-        appointments = new List<>();
+        appointments = new List<>(true);
+        byDate = new SortedView<>(Sort.appointmentOrder('A'));
+        byPatient = new SortedView<>(Sort.appointmentOrder('P'));
+        byCounty = new SortedView<>(Sort.appointmentOrder('L'));
+        schedule = new ProviderSchedule();
+        rooms = new RoomSchedule();
+        byPatientSlot = new PatientIndex();
+        profiles = new ProfilePool();
+        credits = new CreditLedger();
         providers = new List<>();
-        scanner = new Scanner(System.in);
+        out = System.out;
+        report = new ReportWriter(out);
+        summary = new BatchSummary();
     }
-    private void processCommand(String input) {
-        String[] tokens = input.split(",");
-        String command = tokens[0];
-
-        switch (command) {
-            case "D":
-                handleDCommand(tokens);
-                break;
-            case "T":
-                handleTCommand(tokens);
-                break;
-            case "C":
-                cancelAppointment(tokens);
-                break;
-            case "R":
-                rescheduleAppointment(tokens);
-                break;
-            case "PA":
-                sortingApp('A');
-                break;
-            case "PP":
-                sortingApp('P');
-                break;
-            case "PL":
-                sortingApp('L');
-                break;
-            case "PS":
-                printBillingStatements();
-                break;
-            case "PO":
-                sortingApp('O');
-                break;
-            case "PI":
-                sortingApp('I');
-                break;
-            case "PC":
-                printCreditStatements();
-                break;
-            case "Q":
-                System.out.println("Scheduler is terminated.");
-                System.exit(0);
+
+    /**
+     * Adds an appointment to the schedule and to every sorted view.
+     * Does nothing if an equal appointment is already scheduled.
+     *
+     * @param appointment the appointment to add
+     * @throws IllegalStateException if a sorted view already holds the appointment
+     */
+    private void addAppointment(Appointment appointment) {
+        if (appointments.contains(appointment)) {
+            return;
+        }
+        appointments.add(appointment);
+        profiles.retain(appointment.getPatient().getProfile());
+        if (!byDate.add(appointment) || !byPatient.add(appointment) || !byCounty.add(appointment)) {
+            throw new IllegalStateException("Appointment already in a sorted view: " + appointment);
+        }
+        schedule.book(appointment);
+        byPatientSlot.add(appointment);
+        credits.credit(appointment);
+        if (appointment instanceof Imaging) {
+            rooms.book((Imaging) appointment);
+        }
+        if (appointment.getProvider() instanceof Technician) {
+            technicianScheduler.book(appointment);
+        }
+    }
+
+    /**
+     * Removes a scheduled appointment from the schedule and from every sorted view.
+     * Only call this with an appointment that is actually scheduled.
+     *
+     * @param appointment the scheduled appointment to remove
+     * @throws IllegalStateException if a sorted view doesn't hold the appointment
+     */
+    private void removeAppointment(Appointment appointment) {
+        appointments.remove(appointment);
+        profiles.release(appointment.getPatient().getProfile());
+        if (!byDate.remove(appointment) || !byPatient.remove(appointment) || !byCounty.remove(appointment)) {
+            throw new IllegalStateException("Appointment missing from a sorted view: " + appointment);
+        }
+        schedule.release(appointment);
+        byPatientSlot.remove(appointment);
+        credits.debit(appointment);
+        if (appointment instanceof Imaging) {
+            rooms.release((Imaging) appointment);
+        }
+        if (appointment.getProvider() instanceof Technician) {
+            technicianScheduler.release(appointment);
+        }
+    }
+
+    /**
+     * Removes every appointment from the schedule and the sorted views.
+     */
+    private void clearAppointments() {
+        appointments = new List<>(true);
+        byDate.clear();
+        byPatient.clear();
+        byCounty.clear();
+        schedule.clear();
+        byPatientSlot.clear();
+        profiles.clear();
+        credits.clear();
+        rooms.clear();
+        technicianScheduler.clear();
+    }
+    /**
+     * Runs one command line.
+     * The command is matched against the first field in place, so no strings are made for it.
+     *
+     * @param tokens the command line, split into fields
+     * @return false if the command was Q, true otherwise
+     */
+    private boolean processCommand(CommandLine tokens) {
+        summary.command();
+        if (tokens.fieldEquals(0, "D")) {
+            handleDCommand(tokens);
+        } else if (tokens.fieldEquals(0, "T")) {
+            handleTCommand(tokens);
+        } else if (tokens.fieldEquals(0, "C")) {
+            cancelAppointment(tokens);
+        } else if (tokens.fieldEquals(0, "R")) {
+            rescheduleAppointment(tokens);
+        } else if (tokens.fieldEquals(0, "PA")) {
+            sortingApp('A');
+        } else if (tokens.fieldEquals(0, "PP")) {
+            sortingApp('P');
+        } else if (tokens.fieldEquals(0, "PL")) {
+            sortingApp('L');
+        } else if (tokens.fieldEquals(0, "PS")) {
+            printBillingStatements();
+        } else if (tokens.fieldEquals(0, "PO")) {
+            sortingApp('O');
+        } else if (tokens.fieldEquals(0, "PI")) {
+            sortingApp('I');
+        } else if (tokens.fieldEquals(0, "PC")) {
+            printCreditStatements();
+        } else if (tokens.fieldEquals(0, "Q")) {
+            out.println("Scheduler is terminated.");
+            return false;
+        } else {
+            out.println("Invalid command!");
+            summary.record(BatchSummary.INVALID_COMMAND);
+        }
+        return true;
+    }
+
+    /**
+     * Checks that an appointment date can be booked and prints the reason if it can't.
+     * Uses the result code from the date, so a rejected date doesn't throw.
+     *
+     * @param appointmentDate the requested appointment date
+     * @return true if the date can be booked, false otherwise
+     */
+    private boolean isBookableDate(Date appointmentDate) {
+        switch (appointmentDate.checkAppointmentDate()) {
+            case Date.VALID:
+                return true;
+            case Date.NOT_A_DATE:
+                out.println("Appointment Date: " + appointmentDate + " isn't a valid calendar date!");
+                summary.record(BatchSummary.DATE_NOT_A_DATE);
+                return false;
+            case Date.TODAY_OR_PAST:
+                out.println("Appointment date: " + appointmentDate + " is today or a date before today");
+                summary.record(BatchSummary.DATE_TODAY_OR_PAST);
+                return false;
+            case Date.BEYOND_WINDOW:
+                out.println("Appointment date: " + appointmentDate + " is not within six months");
+                summary.record(BatchSummary.DATE_BEYOND_WINDOW);
+                return false;
+            default:
+                out.println("Appointment date: " + appointmentDate + " is Saturday or Sunday");
+                summary.record(BatchSummary.DATE_WEEKEND);
+                return false;
+        }
+    }
+
+    /**
+     * Checks that a patient's date of birth is valid and prints the reason if it isn't.
+     *
+     * @param dob the patient's date of birth
+     * @return true if the date of birth is valid, false otherwise
+     */
+    private boolean isValidDob(Date dob) {
+        switch (dob.checkBirthDate()) {
+            case Date.VALID:
+                return true;
+            case Date.NOT_A_DATE:
+                out.println("Patient dob: " + dob + " isn't a valid calendar date!");
+                summary.record(BatchSummary.INVALID_DOB);
+                return false;
             default:
-                System.out.println("Invalid command!");
+                out.println("Patient dob: " + dob + " is today or a date after today");
+                summary.record(BatchSummary.INVALID_DOB);
+                return false;
         }
     }
 
     /**
      * Handle the D command for technician appointments (imaging services).
      *
-     * @param tokens the parsed input tokens
+     * @param tokens the command line, split into fields
      */
-    private void handleDCommand(String[] tokens) {
+    private void handleDCommand(CommandLine tokens) {
         //D,9/30/2024,1,John,Doe,12/13/1989,120
         try {
             // Parse the date and timeslot
-            Date appointmentDate = parseDate(tokens[1]);
-            if (!appointmentDate.isValid()){
-                System.out.println("Appointment Date: " + appointmentDate + " isn't a valid calendar date!");
-                return;
-            }
-            try {
-                appointmentDate.isTodayOrBefore();  // Will throw an exception if the date is invalid
-            } catch (IllegalArgumentException e) {
-                System.out.println(e.getMessage());
-                return;
-            }
-            try {
-                appointmentDate.isWithinSixMonths();  // Will throw an exception if the date is not within 6 months
-            } catch (IllegalArgumentException e) {
-                System.out.println(e.getMessage());
-                return;
-            }
-            try {
-                appointmentDate.isWeekend();  // Will throw an exception if the date is a weekend
-            } catch (IllegalArgumentException e) {
-                System.out.println(e.getMessage());
+            Date appointmentDate = tokens.dateField(1);
+            if (!isBookableDate(appointmentDate)) {
                 return;
             }
-            Timeslot timeslot = new Timeslot(Integer.parseInt(tokens[2]));
+            Timeslot timeslot = Timeslot.of(tokens.intField(2));
 
             // Parse the patient information
-            String firstName = tokens[3];
-            String lastName = tokens[4];
-            Date dob = parseDate(tokens[5]);
-            if (!dob.isValid()){
-                System.out.println("Patient dob: " + dob + " isn't a valid calendar date!");
+            String firstName = tokens.field(3);
+            String lastName = tokens.field(4);
+            Date dob = tokens.dateField(5);
+            if (!isValidDob(dob)) {
                 return;
             }
-            try{
-                dob.isTodayOrAfter();
-            } catch (IllegalArgumentException e){
-                System.out.println(e.getMessage());
-                return;
-            }
-            Profile patientProfile = new Profile(firstName, lastName, dob);
+            Profile patientProfile = profiles.intern(new Profile(firstName, lastName, dob));
             Patient patient = new Patient(patientProfile);
 
             // Parse the NPI Number
-            int npi = Integer.parseInt(tokens[6]);
+            int npi = tokens.intField(6);
             List<Doctor> officePs = new List<>();
 
             //sort the all doctors into one list
@@ -142,15 +257,16 @@ public class ClinicManager {
             }
 
             if (assignedDoctor.getNpi() == null) {
-                System.out.println("this NPI number doesnt exist!");
+                out.println("this NPI number doesnt exist!");
+                summary.record(BatchSummary.UNKNOWN_PROVIDER);
                 return;
             }
 
             if (providerAvailableForTimeslot(assignedDoctor, appointmentDate, timeslot)) {
                 Appointment newAppointment = new Appointment(appointmentDate, timeslot, patient, assignedDoctor);
-                appointments.add(newAppointment);
+                addAppointment(newAppointment);
 
-                System.out.printf("%s %s %s %s [%s, %s, %s %s, %s] booked.%n",
+                out.printf("%s %s %s %s [%s, %s, %s %s, %s] booked.%n",
                         appointmentDate,  // MM/DD/YYYY
                         timeslot,         // hh:mm AM/PM
                         patient.getFName(), patient.getLName(), patient.getDOB(),
@@ -159,85 +275,65 @@ public class ClinicManager {
                         assignedDoctor.getLocation().getCounty(),
                         assignedDoctor.getLocation().getZip(),
                         assignedDoctor.getSpeciality().name());
+                summary.record(BatchSummary.BOOKED);
             } else {
-                System.out.println("Appointment couldn't be scheduled. Appointment already exists");
+                out.println("Appointment couldn't be scheduled. Appointment already exists");
+                summary.record(BatchSummary.TIMESLOT_TAKEN);
             }
 
         } catch (Exception e) {
-            System.out.println("Error: Invalid command or data. Please check the input.");
+            out.println("Error: Invalid command or data. Please check the input.");
+            summary.record(BatchSummary.INVALID_COMMAND);
         }
     }
 
     /**
      * Handle the T command for technician appointments (imaging services).
      *
-     * @param tokens the parsed input tokens
+     * @param tokens the command line, split into fields
      */
-    private void handleTCommand(String[] tokens) {
+    private void handleTCommand(CommandLine tokens) {
         try {
             // Parse the date and timeslot
-            Date appointmentDate = parseDate(tokens[1]);
-            if (!appointmentDate.isValid()){
-                System.out.println("Appointment Date: " + appointmentDate + " isn't a valid calendar date!");
-                return;
-            }
-            try {
-                appointmentDate.isTodayOrBefore();  // Will throw an exception if the date is invalid
-            } catch (IllegalArgumentException e) {
-                System.out.println(e.getMessage());
-                return;
-            }
-            try {
-                appointmentDate.isWithinSixMonths();  // Will throw an exception if the date is not within 6 months
-            } catch (IllegalArgumentException e) {
-                System.out.println(e.getMessage());
-                return;
-            }
-            try {
-                appointmentDate.isWeekend();  // Will throw an exception if the date is a weekend
-            } catch (IllegalArgumentException e) {
-                System.out.println(e.getMessage());
+            Date appointmentDate = tokens.dateField(1);
+            if (!isBookableDate(appointmentDate)) {
                 return;
             }
-            Timeslot timeslot = new Timeslot(Integer.parseInt(tokens[2]));
+            Timeslot timeslot = Timeslot.of(tokens.intField(2));
 
             // Parse the patient information
-            String firstName = tokens[3];
-            String lastName = tokens[4];
-            Date dob = parseDate(tokens[5]);
-            if (!dob.isValid()){
-                System.out.println("Patient dob: " + dob + " isn't a valid calendar date!");
+            String firstName = tokens.field(3);
+            String lastName = tokens.field(4);
+            Date dob = tokens.dateField(5);
+            if (!isValidDob(dob)) {
                 return;
             }
-            try{
-                dob.isTodayOrAfter();
-            } catch (IllegalArgumentException e){
-                System.out.println(e.getMessage());
-                return;
-            }
-            Profile patientProfile = new Profile(firstName, lastName, dob);
+            Profile patientProfile = profiles.intern(new Profile(firstName, lastName, dob));
             Patient patient = new Patient(patientProfile);
 
             // Parse the imaging service (xray, ultrasound, etc.)
-            Radiology roomType = Radiology.valueOf(tokens[6].toUpperCase());
+            Radiology roomType = Radiology.valueOf(tokens.field(6).toUpperCase());
 
             // Find the next available technician for the requested room type and timeslot
-            Technician assignedTechnician = assignTechnicianForService(timeslot, roomType);
+            Technician assignedTechnician = assignTechnicianForService(appointmentDate, timeslot, roomType);
 
             if (assignedTechnician == null) {
-                System.out.println("No technician available for the requested service and timeslot.");
+                out.println("No technician available for the requested service and timeslot.");
+                summary.record(BatchSummary.NO_TECHNICIAN);
                 return;
             }
 
             // Create and add the Imaging appointment
             Imaging newImagingAppointment = new Imaging(appointmentDate, timeslot, patient, assignedTechnician, roomType);
-            appointments.add(newImagingAppointment);
+            addAppointment(newImagingAppointment);
 
             // Confirm appointment scheduling
-            System.out.println("Imaging appointment scheduled: " + newImagingAppointment.toString());
+            out.println("Imaging appointment scheduled: " + newImagingAppointment.toString());
+            summary.record(BatchSummary.BOOKED);
 
         } catch (Exception e) {
-            System.out.println("Error: Invalid command or data. Please check the input.");
+            out.println("Error: Invalid command or data. Please check the input.");
+            summary.record(BatchSummary.INVALID_COMMAND);
         }
     }
 
@@ -245,196 +341,107 @@ public class ClinicManager {
     /**
      * Cancels an existing appointment based on the given details.
      *
-     * @param tokens the array of appointment details from the command line
+     * @param tokens the appointment details from the command line, split into fields
      */
-    private void cancelAppointment(String[] tokens) {
+    private void cancelAppointment(CommandLine tokens) {
         try {
             // C,9/30/2024,1,John,Doe,12/13/1989
-            Date appointmentDateCAN = parseDate(tokens[1]);
-            Timeslot timeslotCAN = new Timeslot(Integer.parseInt(tokens[2]));
-            Profile profileCAN = new Profile(tokens[3], tokens[4], parseDate(tokens[5]));
-            Person currentPatientCAN = new Person(profileCAN);
-            // We create a temporary appointment object without a provider since it’s not needed for comparison.
-            // We need to manually check for a match in the appointments list by comparing date, timeslot, and profile.
-
-            Appointment appointmentToCancel = null;
-            for (int i = 0; i < appointments.size(); i++) {
-                Appointment current = appointments.get(i);
-                String currUpperF = current.getPatient().getFName().toUpperCase();
-                String upperF = currentPatientCAN.getFName().toUpperCase();
-
-                String currUpperL = current.getPatient().getLName().toUpperCase();
-                String upperL = currentPatientCAN.getLName().toUpperCase();
-
-                if (current.getDate().equals(appointmentDateCAN) && current.getTimeslot().equals(timeslotCAN) && currUpperF.equals(upperF) && currUpperL.equals(upperL)) {
-                    appointmentToCancel = current;
-                    break;
-                }
-            }
+            Date appointmentDateCAN = tokens.dateField(1);
+            Timeslot timeslotCAN = Timeslot.of(tokens.intField(2));
+            Profile profileCAN = new Profile(tokens.field(3), tokens.field(4), tokens.dateField(5));
+            // Look up the appointment by date, timeslot, and profile, ignoring the case of the names
+            Appointment appointmentToCancel = byPatientSlot.find(profileCAN, appointmentDateCAN, timeslotCAN);
 
             if (appointmentToCancel != null) {
-                appointments.remove(appointmentToCancel);
-                System.out.println( appointmentToCancel + " --- Appointment has been canceled.");
+                removeAppointment(appointmentToCancel);
+                out.println( appointmentToCancel + " --- Appointment has been canceled.");
+                summary.record(BatchSummary.CANCELLED);
             } else {
-                System.out.println("Appointment not found.");
+                out.println("Appointment not found.");
+                summary.record(BatchSummary.NOT_FOUND);
             }
 
         } catch (Exception e) {
-            System.out.println("Invalid command!");
+            out.println("Invalid command!");
+            summary.record(BatchSummary.INVALID_COMMAND);
         }
     }
     /**
      * checks if this provider has an opening at this time slot
+     * Looks up the provider's booked timeslots for the date instead of scanning every appointment.
      *
      * @param provider the provider specified
      * @param date the date that needs to be checked
      * @param timeslot  the time slot that needs to be checked
      */
     private boolean providerAvailableForTimeslot(Provider provider, Date date, Timeslot timeslot) {
-        for (int i = 0; i < appointments.size(); i++) {
-            Appointment appointment = appointments.get(i);
-            // Check if the appointment's provider is the same and the appointment is on the same date and timeslot
-            if (appointment.getProvider().equals(provider) &&
-                    appointment.getDate().equals(date) &&
-                    appointment.getTimeslot().equals(timeslot)) {
-                return false; // The provider is not available at this timeslot because of a conflict
-            }
-        }
-        return true; // The provider is available
+        return !schedule.isBooked(provider, date, timeslot);
     }
 
     // Method to handle rescheduling an appointment (R command)
     /**
      * Reschedules an existing appointment to a new timeslot.
      *
-     * @param tokens the array of appointment details from the command line
+     * @param tokens the appointment details from the command line, split into fields
      */
-    private void rescheduleAppointment(String[] tokens) {
+    private void rescheduleAppointment(CommandLine tokens) {
         try {
-            Date appointmentDate = parseDate(tokens[1]);
-            Timeslot currentTimeslot = new Timeslot(Integer.parseInt(tokens[2]));
-            Profile profile = new Profile(tokens[3], tokens[4], parseDate(tokens[5]));
+            Date appointmentDate = tokens.dateField(1);
+            Timeslot currentTimeslot = Timeslot.of(tokens.intField(2));
+            Profile profile = profiles.intern(new Profile(tokens.field(3), tokens.field(4), tokens.dateField(5)));
             Person currentPatient = new Patient(profile);
-            Timeslot newTimeslot = new Timeslot(Integer.parseInt(tokens[6]));
-
-            Appointment tempAppointment = new Appointment(appointmentDate, currentTimeslot, currentPatient, null);
-            boolean appointmentFound = false;
-
-            // Loop through the appointments list to find the matching appointment
-            for (int i = 0; i < appointments.size(); i++) {
-                Appointment appointment = appointments.get(i);
-
-                // Check if this appointment matches by date, timeslot, and profile (ignore provider for search)
-                if (tempAppointment.compareTo(appointment)==0) {
-
-                    appointmentFound = true;
-
-                    // Check if provider is available for the new timeslot
-                    if (providerAvailableForTimeslot(appointment.getProvider(), appointmentDate, newTimeslot)) {
-                        // Create a new appointment with the new timeslot
-                        Appointment updatedAppointment = new Appointment(appointmentDate, newTimeslot, currentPatient, appointment.getProvider());
+            Timeslot newTimeslot = Timeslot.of(tokens.intField(6));
+
+            // Find the matching appointment by date, timeslot, and profile (ignore provider for search)
+            Appointment appointment = byPatientSlot.find(profile, appointmentDate, currentTimeslot);
+            if (appointment == null) {
+                Appointment tempAppointment = new Appointment(appointmentDate, currentTimeslot, currentPatient, null);
+                out.println(tempAppointment + " does not exist");
+                summary.record(BatchSummary.NOT_FOUND);
+                return;
+            }
 
-                        // Remove the old appointment and add the updated one
-                        appointments.remove(appointment);
-                        appointments.add(updatedAppointment);
+            // Check if provider is available for the new timeslot
+            if (providerAvailableForTimeslot(appointment.getProvider(), appointmentDate, newTimeslot)) {
+                // Create a new appointment with the new timeslot
+                Appointment updatedAppointment = new Appointment(appointmentDate, newTimeslot, currentPatient, appointment.getProvider());
 
-                        System.out.println("Rescheduled to " + updatedAppointment.toString());
-                    } else {
-                        System.out.println("Provider is not available for the new timeslot.");
-                    }
-                    break;
-                }
-            }
+                // Remove the old appointment and add the updated one
+                removeAppointment(appointment);
+                addAppointment(updatedAppointment);
 
-            if (!appointmentFound) {
-                System.out.println(tempAppointment + " does not exist");
+                out.println("Rescheduled to " + updatedAppointment.toString());
+                summary.record(BatchSummary.RESCHEDULED);
+            } else {
+                out.println("Provider is not available for the new timeslot.");
+                summary.record(BatchSummary.TIMESLOT_TAKEN);
             }
         } catch (IllegalArgumentException e) { //catch invalid timeslots
-            System.out.println(e.getMessage());
+            out.println(e.getMessage());
+            summary.record(BatchSummary.INVALID_COMMAND);
         } catch (Exception e) {
-            System.out.println("Invalid command!");
+            out.println("Invalid command!");
+            summary.record(BatchSummary.INVALID_COMMAND);
         }
     }
 
     /**
      * Find an available technician for the requested service and timeslot.
+     * The technician scheduler skips straight to the next technician in rotation who is
+     * free on the date and timeslot and whose location has the requested room free.
      *
+     * @param date the requested appointment date
      * @param timeslot the requested timeslot
      * @param roomType the requested imaging service (xray, ultrasound, etc.)
      * @return the assigned technician, or null if no technician is available
      */
-    // Method to assign the next available technician for a specific room type and timeslot
-    private int technicianRotationIndex = 0;
-    private Technician assignTechnicianForService(Timeslot timeslot, Radiology roomType) {
-        int technicianCount = technicianRotation.size();
-
-        // Start from the current technician index and rotate through the list
-        for (int i = 0; i < technicianCount; i++) {
-            // Calculate the technician's index in a circular manner
-            int currentIndex = (technicianRotationIndex + i) % technicianCount;
-            Provider provider = technicianRotation.get(currentIndex);
-
-            if (provider instanceof Technician) {
-                Technician technician = (Technician) provider;
-
-                // Check if the technician is available at the requested timeslot and room type
-                if (isTechnicianAvailable(technician, timeslot, roomType)) {
-                    // Update the rotation index to point to the next technician for future assignments
-                    technicianRotationIndex = (currentIndex + 1) % technicianCount;
-                    return technician;
-                }
-            }
-        }
-        return null;  // No available technician found
+    private Technician assignTechnicianForService(Date date, Timeslot timeslot, Radiology roomType) {
+        return technicianScheduler.assign(date, timeslot, roomType, rooms);
     }
 
-    // Check if the technician is available for the given timeslot and room type
     /**
-     * Checks if the given technician is available for the specified timeslot and room type.
-     *
-     * This method first checks whether the technician has an appointment at the requested
-     * timeslot. If the technician is already booked, it returns false.
-     *
-     * It then checks if the requested room type at the technician's location is already booked
-     * for the same timeslot by another technician. If so, it returns false, indicating that the
-     * room is unavailable.
-     *
-     * If both checks pass, it returns true, indicating that the technician and room are available.
-     *
-     * @param technician The technician to check availability for.
-     * @param timeslot The timeslot for which availability is being checked.
-     * @param roomType The type of room (Radiology) required for the appointment.
-     * @return {@code true} if the technician and room are available for the timeslot,
-     *         {@code false} otherwise.
-     */
-    private boolean isTechnicianAvailable(Technician technician, Timeslot timeslot, Radiology roomType) {
-        // First step, check if the technician is available for the requested timeslot
-        for (Appointment appointment : appointments) {
-            // Check if the appointment involves the same technician and timeslot
-            if (appointment.getProvider().equals(technician) && appointment.getTimeslot().equals(timeslot)) {
-                return false;  //Already booked
-
-            }
-        }
-        // Then, check if the room at the technician's location is available for the requested timeslot and room type
-        for (Appointment appointment : appointments) {
-            // Check if the appointment is for the same location, room type, and timeslot
-            if (appointment instanceof Imaging) {
-                Imaging imagingAppointment = (Imaging) appointment;
-                Provider appointmentProvider = (Provider) imagingAppointment.getProvider();
-                if (appointmentProvider instanceof Technician &&
-                        appointmentProvider.getLocation().equals(technician.getLocation()) &&
-                        imagingAppointment.getRoom().equals(roomType) &&
-                        imagingAppointment.getTimeslot().equals(timeslot)) {
-                    return false;  // Room is already booked
-                }
-            }
-        }
-        return true;
-    }
-    /**
-     * Sorts the list of appointments based on the given key.
-     * prints out all the appointments according to the key's order
+     * Prints out all the appointments according to the key's order.
+     * The appointments are read from the sorted view for the key, so no sorting is done here.
      *
      * @param key the sorting key:
      *            A - sort by date, time, provider's name
@@ -444,171 +451,120 @@ public class ClinicManager {
      *            I - sort imaging appointments first, then by county, date, time
      */
     private void sortingApp (char key){
-        Sort.appointment(appointments, key);
         if (appointments.isEmpty()){
-            System.out.println("Schedule calendar is empty.");
+            report.println("Schedule calendar is empty.");
+            report.flush();
             return;
         }
         if (key == 'A'){
-            System.out.println("** All Appointments ordered by date/time/provider **");
-            for(int i = 0; i<appointments.size(); i++){
-                System.out.println(appointments.get(i).toString());
+            report.println("** All Appointments ordered by date/time/provider **");
+            for (Appointment appointment : byDate) {
+                report.println(appointment);
             }
-            System.out.println("** end of list **");
+            report.println("** end of list **");
 
         } else if (key == 'P'){
-            System.out.println("** All Appointments ordered by patient/date/time **");
-            for(int i = 0; i<appointments.size(); i++){
-                System.out.println(appointments.get(i).toString());
+            report.println("** All Appointments ordered by patient/date/time **");
+            for (Appointment appointment : byPatient) {
+                report.println(appointment);
             }
-            System.out.println("** end of list **");
+            report.println("** end of list **");
 
         } else if (key == 'L'){
-            System.out.println("** All Appointments ordered by county/date/time **");
-            for(int i = 0; i<appointments.size(); i++){
-                System.out.println(appointments.get(i).toString());
+            report.println("** All Appointments ordered by county/date/time **");
+            for (Appointment appointment : byCounty) {
+                report.println(appointment);
             }
-            System.out.println("** end of list **");
+            report.println("** end of list **");
 
         } else if (key == 'O'){
-            System.out.println("** List of office appointments ordered by county/date/time **");
-            for(int i = 0; i<appointments.size(); i++){
-                if (!(appointments.get(i) instanceof Imaging)){
-                    System.out.println(appointments.get(i).toString());
+            // Office appointments in county/date/time order are the county view without imaging
+            report.println("** List of office appointments ordered by county/date/time **");
+            for (Appointment appointment : byCounty) {
+                if (!(appointment instanceof Imaging)){
+                    report.println(appointment);
                 }
-
             }
-            System.out.println("** end of list **");
+            report.println("** end of list **");
 
         } else if (key == 'I'){
-            System.out.println("** List of radiology appointments ordered by county/date/time **");
-            for(int i = 0; i<appointments.size(); i++){
-                if (appointments.get(i) instanceof Imaging){
-                    System.out.println(appointments.get(i).toString());
+            report.println("** List of radiology appointments ordered by county/date/time **");
+            for (Appointment appointment : byCounty) {
+                if (appointment instanceof Imaging){
+                    report.println(appointment);
                 }
             }
-            System.out.println("** end of list **");
+            report.println("** end of list **");
         }
+        report.flush();
     }
 
     /**
      * Prints the credit statements for all providers. (PC command)
+     * The credit of each provider is read from the running totals in cents.
      */
     private void printCreditStatements () {
         if (appointments.isEmpty()){
-            System.out.println("Schedule calendar is empty.");
+            report.println("Schedule calendar is empty.");
+            report.flush();
             return;
         }
-        System.out.println("** Credit amount ordered by provider **");
+        report.println("** Credit amount ordered by provider **");
         Sort.provider(providers);
         for (int i = 0; i < providers.size(); i++) {
             Provider provider = providers.get(i);
-            int appointmentCount = 0;
 
-            // Loop through appointments to count the ones for the current provider
-            for (int j = 0; j < appointments.size(); j++) {
-                Appointment appointment = appointments.get(j);
-
-                // If the appointment is for the current provider, increment the count
-                if (appointment.getProvider().equals(provider)) {
-                    appointmentCount++;
-                }
-            }
-
-            // Calculate total payment due for this provider
-            double totalDue = appointmentCount * provider.rate();
+            // Read the total payment due for this provider, kept up to date as appointments change
+            long totalDue = credits.cents(provider);
 
             // Print out the total amount due for the provider
-            System.out.println(provider.getFName() + " " + provider.getLName() + " " + provider.getDOB() + " " + "[Credit amount: $"  + totalDue + "]");
+            report.println(provider.getFName() + " " + provider.getLName() + " " + provider.getDOB() + " " + "[Credit amount: $"  + CreditLedger.format(totalDue) + "]");
         }
-        System.out.println("** end of list **");
+        report.println("** end of list **");
+        report.flush();
     }
 
     //Method to generate billing statements (PS command)
     /**
      * Prints the billing statements for all patients. (PS command)
+     * Totals are added up per patient in a single pass over the appointments,
+     * then only the patients are sorted.
      */
     private void printBillingStatements() {
         if (appointments.isEmpty()){
-            System.out.println("Schedule calendar is empty.");
+            report.println("Schedule calendar is empty.");
+            report.flush();
             return;
         }
-        System.out.println("** Billing statement ordered by patient **");
-        List<Patient> patients = new List<>();
-
-        //make a list of patients
+        report.println("** Billing statement ordered by patient **");
+        // One pass over the appointments, adding each one as a visit of its patient
+        Map<Patient, Patient> billed = new Map<>(appointments.size()); // the patient holding each profile's visits
+        // in order of each patient's first appointment, indexed so add() doesn't scan the list
+        List<Patient> patients = new List<>(true);
         for (int i = 0; i < appointments.size(); i++) {
-            // Get the patient from each appointment
-            Patient currentPatient = appointments.get(i).getPatient();
-
-            // Check if the patient is already in the uniquePatients list
-            if (!patients.contains(currentPatient)) {
-                // If not, add the patient to the uniquePatients list
+            Appointment currentAppointment = appointments.get(i);
+            Patient currentPatient = billed.get(currentAppointment.getPatient());
+            if (currentPatient == null) {
+                // The first appointment's patient holds the visits
+                currentPatient = currentAppointment.getPatient();
+                billed.put(currentPatient, currentPatient);
                 patients.add(currentPatient);
             }
+            currentPatient.addVisit(new Visit(currentAppointment));
         }
 
-        //add the visits for each patient
-        for (int i = 0; i < patients.size(); i++) {
-            Patient currentPatient = patients.get(i);
-
-            // Loop through the list of appointments
-            for (int j = 0; j < appointments.size(); j++) {
-                Appointment currentAppointment = appointments.get(j);
-
-                // Check if the current appointment is for the current patient
-                if (currentAppointment.getPatient().equals(currentPatient)) {
-                    // Add this appointment as a visit to the patient
-                    Visit newVisit = new Visit(currentAppointment);
-                    currentPatient.addVisit(newVisit);
-                }
-            }
-        }
-
-        //Sort the patients by last name
-        int n = patients.size();
-        boolean swapped;
-
-        // Bubble sort
-        do {
-            swapped = false;
-            for (int i = 0; i < n - 1; i++) {
-                Patient p1 = patients.get(i);
-                Patient p2 = patients.get(i + 1);
-
-                // Compare the last names
-                if (p1.getLName().compareTo(p2.getLName()) > 0) {
-                    // Swap the patients if they are in the wrong order
-                    Patient temp = p1;
-                    patients.set(i, p2);
-                    patients.set(i + 1, temp);
-                    swapped = true;
-                }
-            }
-            n--;  // Reduce the range of comparisons as largest element is already in place
-        } while (swapped);
-
-        //for each patient, count the money due and print it out.
-        for (int i = 0; i < patients.size(); i++) {
-            Patient patient = patients.get(i);
-            Visit head = patient.getVisit();
-
-            // Sum the total cost for this patient's visits
-            double totalCost = 0;
-            Visit current = head;
-            while (current != null) {
-                totalCost += current.getAppointment().getProvider().rate();
-                current = current.getNext();
-            }
+        //Sort the patients by last name, keeping first appearance order for ties
+        Sort.sort(patients, (p1, p2) -> p1.getLName().compareTo(p2.getLName()));
 
-            // Print the total cost for this patient
-            System.out.println(patient.getFName() + " " + patient.getLName() + " " + patient.getDOB() + " [Credit amount: $" + totalCost + "]");
+        //for each patient, print out the money due from the balance of their visits
+        for (Patient patient : patients) {
+            report.println(patient.getFName() + " " + patient.getLName() + " " + patient.getDOB() + " [Credit amount: $" + CreditLedger.format(CreditLedger.toCents(patient.getBalance())) + "]");
         }
 
-        List<Appointment> empty = new List<>();
-        appointments = empty;
+        clearAppointments();
 
-        System.out.println("** end of list **");
+        report.println("** end of list **");
+        report.flush();
     }
 
     // Helper method to parse a date string into a Date object
@@ -634,7 +590,7 @@ public class ClinicManager {
      */
     public void initialize() {
         loadProviders();
-        System.out.println("Providers loaded successfully.");
+        out.println("Providers loaded successfully.");
         displayProviders();
         displayTechnicianRotation();
 
@@ -645,9 +601,9 @@ public class ClinicManager {
      * This method iterates through the list of providers and prints their details to the console.
      */
     private void displayProviders() {
-        System.out.println("Loaded Providers:");
+        out.println("Loaded Providers:");
         for (Provider provider : providers) {
-            System.out.println(provider.toString());
+            out.println(provider.toString());
         }
     }
 
@@ -688,7 +644,7 @@ public class ClinicManager {
             }
             scanner.close();
         } catch (FileNotFoundException e) {
-            System.out.println("Error: providers.txt file not found.");
+            out.println("Error: providers.txt file not found.");
         }
 
     }
@@ -708,18 +664,19 @@ public class ClinicManager {
                 technicianRotation.add((Technician) provider);
             }
         }
+        technicianScheduler = new TechnicianScheduler(technicianRotation);
 
         // Display the technician rotation list
-        System.out.println("Rotation list for the technicians:");
+        out.println("Rotation list for the technicians:");
         for (int i = 0; i < technicianRotation.size(); i++) {
             Technician tech = technicianRotation.get(i);
-            System.out.print(tech.getProfile() + " (" + tech.getLocation() + ")");
+            out.print(tech.getProfile() + " (" + tech.getLocation() + ")");
 
             // Add arrows between technicians, and wrap around at the end
             if (i < technicianRotation.size() - 1) {
-                System.out.print(" --> ");
+                out.print(" --> ");
             } else {
-                System.out.println();  // End the line after the last technician
+                out.println();  // End the line after the last technician
             }
         }
     }
@@ -731,15 +688,69 @@ public class ClinicManager {
      * Main method to run the scheduler and process commands from the user.
      */
     public void run() {
-        System.out.println("Scheduler is running:");
+        out.println("Scheduler is running:");
         initialize();
 
-        while (scanner.hasNextLine()) {
-            String input = scanner.nextLine().trim();
-            if (!input.isEmpty()) {
-                processCommand(input);
+        // Lines are read straight from the bytes of System.in and split in place
+        try {
+            if (!runCommands(new CommandReader(System.in))) {
+                System.exit(0);
+            }
+        } catch (IOException e) {
+            // Stop reading, like Scanner does when the input fails
+        }
+    }
+
+    /**
+     * Runs the commands from a source until it runs out or a Q command is read.
+     * Blank lines are skipped.
+     *
+     * @param commands where the command lines come from
+     * @return false if a Q command stopped the run, true if the commands ran out
+     * @throws IOException if the commands can't be read
+     */
+    private boolean runCommands(CommandSource commands) throws IOException {
+        CommandLine line = new CommandLine();
+        while (commands.next(line)) {
+            if (!line.isEmpty() && !processCommand(line)) {
+                return false;
             }
         }
+        return true;
+    }
+
+    /**
+     * Runs every command in a file with the same rules as run(), writing all the output
+     * to another file through one buffered stream. Stops early at a Q command.
+     * The command file is memory-mapped and its lines are parsed straight from the
+     * mapping, so files of any size can be replayed without copying them.
+     * Prints a summary of the outcomes, the elapsed time and the throughput when done.
+     *
+     * @param commandPath the file to read the commands from
+     * @param outputPath the file to write the output to
+     * @throws IOException if a file can't be read or written, including a failed write of the output
+     */
+    public void runBatch(String commandPath, String outputPath) throws IOException {
+        try (MappedCommandReader reader = new MappedCommandReader(Paths.get(commandPath));
+             PrintStream output = new PrintStream(new BufferedOutputStream(new FileOutputStream(outputPath), 1 << 16), false)) {
+            out = output;
+            report = new ReportWriter(out);
+            out.println("Scheduler is running:");
+            initialize();
+
+            summary = new BatchSummary();
+            long start = System.nanoTime();
+            runCommands(reader);
+            out.flush();
+            if (output.checkError()) {
+                throw new IOException("Could not write all of the output to " + outputPath);
+            }
+            long elapsed = System.nanoTime() - start;
+            summary.print(System.out, elapsed);
+        } finally {
+            out = System.out;
+            report = new ReportWriter(out);
+        }
     }
 
 
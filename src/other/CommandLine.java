@@ -0,0 +1,267 @@
+package other;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import util.Date;
+
+/**
+ * This class is one command line, split into its comma-separated fields in place.
+ * The line is a range of bytes in a buffer owned by whoever read it, and the fields
+ * are kept as start and end positions, so splitting a line creates no strings.
+ * Numbers and dates are parsed straight from the bytes; only fields that are really
+ * needed as text, such as names, are turned into strings.
+ * Fields follow the same rules as input.split(","): trailing empty fields are dropped.
+ *
+ * @author Divit Shetty (dps190)
+ */
+public class CommandLine {
+    private static final Charset CHARSET = Charset.defaultCharset(); // Same as Scanner on System.in
+
+    private ByteBuffer bytes; // The buffer holding the line
+    private int lineStart; // The first byte of the line, after trimming
+    private int lineEnd; // The byte after the end of the line, after trimming
+    private int[] starts = new int[8]; // The first byte of each field
+    private int[] ends = new int[8]; // The byte after the end of each field
+    private int size; // The number of fields
+
+    /**
+     * Points this line at a range of bytes, trims it and splits it into fields.
+     * The bytes must not change while the line is being used.
+     *
+     * @param bytes the buffer holding the line
+     * @param start the first byte of the line
+     * @param end the byte after the last byte of the line
+     */
+    public void set(ByteBuffer bytes, int start, int end) {
+        this.bytes = bytes;
+        // Trim like String.trim()
+        while (start < end && (bytes.get(start) & 0xFF) <= ' ') {
+            start++;
+        }
+        while (end > start && (bytes.get(end - 1) & 0xFF) <= ' ') {
+            end--;
+        }
+        lineStart = start;
+        lineEnd = end;
+
+        size = 0;
+        int fieldStart = start;
+        for (int i = start; i <= end; i++) {
+            if (i == end || bytes.get(i) == ',') {
+                if (size == starts.length) {
+                    starts = grow(starts);
+                    ends = grow(ends);
+                }
+                starts[size] = fieldStart;
+                ends[size] = i;
+                size++;
+                fieldStart = i + 1;
+            }
+        }
+        // Drop trailing empty fields like split does
+        while (size > 0 && starts[size - 1] == ends[size - 1]) {
+            size--;
+        }
+    }
+
+    private static int[] grow(int[] array) {
+        int[] grown = new int[array.length * 2];
+        System.arraycopy(array, 0, grown, 0, array.length);
+        return grown;
+    }
+
+    /**
+     * Checks if the line has nothing but whitespace.
+     *
+     * @return true if the trimmed line is empty, false otherwise
+     */
+    public boolean isEmpty() {
+        return lineStart == lineEnd;
+    }
+
+    /**
+     * Returns the number of fields in the line.
+     *
+     * @return the number of fields
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Throws the same exception as indexing past the end of the split array.
+     *
+     * @param i the index of the field
+     */
+    private void check(int i) {
+        if (i < 0 || i >= size) {
+            throw new ArrayIndexOutOfBoundsException("Index " + i + " out of bounds for length " + size);
+        }
+    }
+
+    /**
+     * Checks if a field is exactly the given text, without making a string of the field.
+     *
+     * @param i the index of the field
+     * @param text the ASCII text to compare with
+     * @return true if the field matches, false otherwise or if there is no such field
+     */
+    public boolean fieldEquals(int i, String text) {
+        if (i < 0 || i >= size || ends[i] - starts[i] != text.length()) {
+            return false;
+        }
+        for (int j = 0; j < text.length(); j++) {
+            if (bytes.get(starts[i] + j) != text.charAt(j)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns a field as a string.
+     *
+     * @param i the index of the field
+     * @return the text of the field
+     */
+    public String field(int i) {
+        check(i);
+        return decode(starts[i], ends[i]);
+    }
+
+    /**
+     * Parses a field as a decimal int, the same as Integer.parseInt.
+     *
+     * @param i the index of the field
+     * @return the number
+     * @throws NumberFormatException if the field is not a number
+     */
+    public int intField(int i) {
+        check(i);
+        return parseInt(starts[i], ends[i]);
+    }
+
+    /**
+     * Parses a field in month/day/year format as a date, the same as splitting
+     * the field on "/" and parsing the first three parts.
+     *
+     * @param i the index of the field
+     * @return the date
+     * @throws NumberFormatException if a part is not a number
+     * @throws ArrayIndexOutOfBoundsException if there are fewer than three parts
+     */
+    public Date dateField(int i) {
+        check(i);
+        int start = starts[i];
+        int end = ends[i];
+        int monthEnd = end;
+        int dayEnd = end;
+        int yearEnd = end;
+        int part = 0;
+        int lastNonEmpty = -1; // split drops the empty parts after this one
+        int partStart = start;
+        for (int j = start; j <= end; j++) {
+            if (j == end || bytes.get(j) == '/') {
+                if (j > partStart) {
+                    lastNonEmpty = part;
+                }
+                if (part == 0) {
+                    monthEnd = j;
+                } else if (part == 1) {
+                    dayEnd = j;
+                } else if (part == 2) {
+                    yearEnd = j;
+                }
+                part++;
+                partStart = j + 1;
+            }
+        }
+        int length = (start == end) ? 1 : lastNonEmpty + 1; // Splitting "" gives [""]
+        // Parse each part before looking for the next one, in the same order as before
+        checkPart(0, length);
+        int month = parseInt(start, monthEnd);
+        checkPart(1, length);
+        int day = parseInt(monthEnd + 1, dayEnd);
+        checkPart(2, length);
+        int year = parseInt(dayEnd + 1, yearEnd);
+        return new Date(year, month, day);
+    }
+
+    /**
+     * Throws the same exception as indexing past the end of the array a date field splits into.
+     *
+     * @param part the index of the part
+     * @param length the number of parts
+     */
+    private static void checkPart(int part, int length) {
+        if (part >= length) {
+            throw new ArrayIndexOutOfBoundsException("Index " + part + " out of bounds for length " + length);
+        }
+    }
+
+    /**
+     * Parses a range of bytes as a decimal int, accepting a leading sign like Integer.parseInt.
+     *
+     * @param start the first byte
+     * @param end the byte after the last
+     * @return the number
+     * @throws NumberFormatException if the bytes are not a number or it overflows
+     */
+    private int parseInt(int start, int end) {
+        int i = start;
+        boolean negative = false;
+        if (i < end && (bytes.get(i) == '-' || bytes.get(i) == '+')) {
+            negative = bytes.get(i) == '-';
+            i++;
+        }
+        if (i == end) {
+            throw notANumber(start, end);
+        }
+        long value = 0;
+        for (; i < end; i++) {
+            int digit = bytes.get(i) - '0';
+            if (digit < 0 || digit > 9) {
+                throw notANumber(start, end);
+            }
+            value = value * 10 + digit;
+            if (value > (long) Integer.MAX_VALUE + 1) {
+                throw notANumber(start, end);
+            }
+        }
+        value = negative ? -value : value;
+        if (value > Integer.MAX_VALUE) {
+            throw notANumber(start, end);
+        }
+        return (int) value;
+    }
+
+    private NumberFormatException notANumber(int start, int end) {
+        return new NumberFormatException("For input string: \"" + decode(start, end) + "\"");
+    }
+
+    /**
+     * Decodes a range of bytes into a string.
+     *
+     * @param start the first byte
+     * @param end the byte after the last
+     * @return the text
+     */
+    private String decode(int start, int end) {
+        if (bytes.hasArray()) {
+            return new String(bytes.array(), bytes.arrayOffset() + start, end - start, CHARSET);
+        }
+        byte[] copy = new byte[end - start];
+        bytes.get(start, copy);
+        return new String(copy, CHARSET);
+    }
+
+    /**
+     * Returns the trimmed line.
+     *
+     * @return the text of the line
+     */
+    @Override
+    public String toString() {
+        return decode(lineStart, lineEnd);
+    }
+}
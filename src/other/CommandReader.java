@@ -0,0 +1,63 @@
+package other;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * This class reads command lines from an input stream without a Scanner.
+ * Bytes are read into one large buffer and each line is handed out as a range
+ * of that buffer, so reading a line creates no strings.
+ *
+ * @author Divit Shetty (dps190)
+ */
+public class CommandReader extends CommandSource {
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final InputStream in; // The stream the commands come from
+    private byte[] buffer; // The bytes read but not handed out yet
+    private boolean endOfStream; // True once the stream has no more bytes
+
+    /**
+     * Constructs a reader for the given stream.
+     *
+     * @param in the stream to read commands from, such as System.in
+     */
+    public CommandReader(InputStream in) {
+        this.in = in;
+        this.buffer = new byte[BUFFER_SIZE];
+        this.bytes = ByteBuffer.wrap(buffer);
+    }
+
+    @Override
+    boolean isAtEnd() {
+        return endOfStream;
+    }
+
+    /**
+     * Moves the unfinished line to the front of the buffer, growing it if the line
+     * fills it, and reads more bytes after it.
+     *
+     * @throws IOException if the stream can't be read
+     */
+    @Override
+    void refill() throws IOException {
+        int remaining = limit - position;
+        if (remaining == buffer.length) {
+            byte[] grown = new byte[buffer.length * 2];
+            System.arraycopy(buffer, position, grown, 0, remaining);
+            buffer = grown;
+            bytes = ByteBuffer.wrap(buffer);
+        } else if (position > 0) {
+            System.arraycopy(buffer, position, buffer, 0, remaining);
+        }
+        position = 0;
+        limit = remaining;
+        int read = in.read(buffer, limit, buffer.length - limit);
+        if (read < 0) {
+            endOfStream = true;
+        } else {
+            limit += read;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package other;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * A source of command lines for the scheduler, such as a stream or a mapped file.
+ * The bytes are held in a buffer and each line is handed out as a range of it, so
+ * reading a line creates no strings. A line ends at "\n", "\r\n" or "\r", like
+ * Scanner.nextLine(). Subclasses only decide how more bytes get into the buffer.
+ *
+ * @author Divit Shetty (dps190)
+ */
+public abstract class CommandSource {
+    ByteBuffer bytes; // The buffer the lines are handed out from
+    int position; // The start of the next line in the buffer
+    int limit; // The end of the bytes available in the buffer
+    private boolean skipLineFeed; // True if the last line ended with "\r", which may be followed by "\n"
+
+    /**
+     * Reads the next line into the given command line.
+     * The line stays valid until the next call.
+     *
+     * @param line the command line to fill
+     * @return true if a line was read, false when there are no more lines
+     * @throws IOException if the commands can't be read
+     */
+    public boolean next(CommandLine line) throws IOException {
+        int scanned = position; // Bytes before this are known not to end the line
+        while (true) {
+            if (skipLineFeed && position < limit) {
+                skipLineFeed = false;
+                if (bytes.get(position) == '\n') {
+                    position++; // The "\n" of a "\r\n"
+                }
+                scanned = position;
+            }
+            for (int i = scanned; i < limit; i++) {
+                byte b = bytes.get(i);
+                if (b == '\n' || b == '\r') {
+                    line.set(bytes, position, i);
+                    position = i + 1;
+                    skipLineFeed = (b == '\r');
+                    return true;
+                }
+            }
+            if (isAtEnd()) {
+                if (position == limit) {
+                    return false;
+                }
+                line.set(bytes, position, limit); // Last line has no line end
+                position = limit;
+                return true;
+            }
+            scanned = limit - position;
+            refill();
+        }
+    }
+
+    /**
+     * Checks if there are no more bytes after the end of the buffer.
+     *
+     * @return true if the buffer holds the last of the commands, false otherwise
+     */
+    abstract boolean isAtEnd();
+
+    /**
+     * Makes more bytes available after the unfinished line, which runs from position
+     * to limit. Afterwards the unfinished line must start at position 0 of the buffer,
+     * unless no more bytes were available, in which case isAtEnd() must now be true.
+     *
+     * @throws IOException if the commands can't be read
+     */
+    abstract void refill() throws IOException;
+}
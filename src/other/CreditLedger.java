@@ -0,0 +1,112 @@
+package other;
+
+import util.Map;
+
+/**
+ * This class keeps a running count of appointments and credit owed to each provider.
+ * It is updated as appointments are booked and removed, so the credit statements
+ * can be printed without scanning the appointments. Credit is kept in whole cents.
+ *
+ * @author Divit Shetty (dps190)
+ */
+public class CreditLedger {
+    private static final int CENTS_PER_DOLLAR = 100;
+
+    private final Map<Provider, Account> accounts; // The running totals of each provider
+
+    // The running totals of one provider
+    private static final class Account {
+        private int appointments;
+        private long cents;
+    }
+
+    /**
+     * Constructs an empty ledger.
+     */
+    public CreditLedger() {
+        accounts = new Map<>();
+    }
+
+    /**
+     * Credits the provider of an appointment with one visit at their rate.
+     *
+     * @param appointment the appointment being scheduled
+     */
+    public void credit(Appointment appointment) {
+        Provider provider = appointment.getProvider();
+        Account account = accounts.get(provider);
+        if (account == null) {
+            account = new Account();
+            accounts.put(provider, account);
+        }
+        account.appointments++;
+        account.cents += toCents(provider.rate());
+    }
+
+    /**
+     * Takes back the credit of an appointment from its provider.
+     * Rates don't change while the scheduler runs, so this is the amount credited.
+     *
+     * @param appointment the appointment being removed
+     */
+    public void debit(Appointment appointment) {
+        Provider provider = appointment.getProvider();
+        Account account = accounts.get(provider);
+        if (account == null) {
+            return; // Never credited
+        }
+        account.appointments--;
+        account.cents -= toCents(provider.rate());
+        if (account.appointments == 0) {
+            accounts.remove(provider);
+        }
+    }
+
+    /**
+     * Returns the credit owed to a provider.
+     *
+     * @param provider the provider
+     * @return the credit in cents
+     */
+    public long cents(Provider provider) {
+        Account account = accounts.get(provider);
+        return (account == null) ? 0 : account.cents;
+    }
+
+    /**
+     * Removes every account from the ledger.
+     */
+    public void clear() {
+        accounts.clear();
+    }
+
+    /**
+     * Converts a whole number of dollars to cents.
+     *
+     * @param dollars the amount in dollars
+     * @return the amount in cents
+     */
+    public static long toCents(long dollars) {
+        return dollars * CENTS_PER_DOLLAR;
+    }
+
+    /**
+     * Formats an amount in cents the way the statements print dollar amounts,
+     * for example 300.0 or 12.5.
+     *
+     * @param cents the amount in cents
+     * @return the amount in dollars
+     */
+    public static String format(long cents) {
+        String sign = (cents < 0) ? "-" : "";
+        long abs = Math.abs(cents);
+        long fraction = abs % CENTS_PER_DOLLAR;
+        String decimals;
+        if (fraction % 10 == 0) {
+            decimals = Long.toString(fraction / 10);
+        } else {
+            decimals = (fraction < 10 ? "0" : "") + fraction;
+        }
+        return sign + (abs / CENTS_PER_DOLLAR) + "." + decimals;
+    }
+}
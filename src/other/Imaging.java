@@ -19,9 +19,4 @@ public class Imaging extends Appointment {
     public Radiology getRoom() {
         return room;
     }
-
-    @Override
-    public String toString() {
-        return super.toString() + " for " + room + " imaging.";
-    }
 }
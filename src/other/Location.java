@@ -16,6 +16,8 @@ public enum Location {
 
     private final String county;
     private final String zip;
+    private final String city; // The city name, derived from the constant name
+    private final String text; // The location in "City, County Zip" format
 
     // Constructor
     /**
@@ -27,6 +29,8 @@ public enum Location {
     Location(String county, String zip) {
         this.county = county;
         this.zip = zip;
+        this.city = this.name().charAt(0) + this.name().substring(1).toLowerCase();
+        this.text = String.format("%s, %s %s", city, county, zip);
     }
 
     // Method for getting the county
@@ -56,8 +60,7 @@ public enum Location {
      * @return the name of the city
      */
     public String getCity() {
-
-        return this.name().charAt(0) + this.name().substring(1).toLowerCase();
+        return city;
     }
 
     // Method to return the county name in uppercase
@@ -73,12 +76,13 @@ public enum Location {
     // Override toString to display location details
     /**
      * Overrides toString to display location details in a formatted string.
+     * The string is built once when the constant is created.
      *
      * @return formatted string representation of the location
      */
     @Override
     public String toString() {
-        return String.format("%s, %s %s", getCity(), county, zip);
+        return text;
     }
 
     // Testing the location enum
@@ -0,0 +1,107 @@
+package other;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * This class reads command lines from a file by mapping it into memory.
+ * Each line is handed out as a range of the mapped bytes, so the file is never
+ * copied into a buffer and reading a line creates no strings. A single mapping
+ * can't be larger than 2 GB, so the file is mapped one window at a time; a line
+ * that runs past the end of a window is found again at the start of the next one.
+ *
+ * @author Divit Shetty (dps190)
+ */
+public class MappedCommandReader extends CommandSource implements Closeable {
+    private static final int WINDOW_SIZE = 1 << 26; // Bytes mapped at a time
+    private static final int MAX_WINDOW_SIZE = Integer.MAX_VALUE - 8; // Largest line that can be handed out
+
+    private final FileChannel channel; // The file the commands come from
+    private final long fileSize; // The size of the file when it was opened
+    private final int windowSize; // Bytes to map at a time, unless a line is longer
+    private long windowStart; // The offset of the mapped window in the file
+
+    /**
+     * Opens the given file for reading commands.
+     *
+     * @param path the command file
+     * @throws IOException if the file can't be opened or mapped
+     */
+    public MappedCommandReader(Path path) throws IOException {
+        this(path, WINDOW_SIZE);
+    }
+
+    /**
+     * Opens the given file for reading commands, mapping it in windows of the given size.
+     *
+     * @param path the command file
+     * @param windowSize the number of bytes to map at a time
+     * @throws IOException if the file can't be opened or mapped
+     */
+    MappedCommandReader(Path path, int windowSize) throws IOException {
+        if (windowSize <= 0 || windowSize > MAX_WINDOW_SIZE) {
+            throw new IllegalArgumentException("Invalid window size: " + windowSize);
+        }
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        this.windowSize = windowSize;
+        try {
+            this.fileSize = channel.size();
+            map(0, windowSize);
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    @Override
+    boolean isAtEnd() {
+        return windowStart + limit == fileSize;
+    }
+
+    /**
+     * Maps the next window of the file, starting at the unfinished line.
+     * The window grows if the line alone fills it.
+     *
+     * @throws IOException if the file can't be mapped or a line is longer than 2 GB
+     */
+    @Override
+    void refill() throws IOException {
+        int length = limit - position;
+        int size = windowSize;
+        if (length >= size) {
+            if (length >= MAX_WINDOW_SIZE) {
+                throw new IOException("Command line longer than " + MAX_WINDOW_SIZE + " bytes at offset "
+                        + (windowStart + position));
+            }
+            size = (int) Math.min((long) length * 2, MAX_WINDOW_SIZE);
+        }
+        map(windowStart + position, size);
+    }
+
+    /**
+     * Maps the part of the file starting at the given offset.
+     *
+     * @param start the offset in the file
+     * @param size the most bytes to map, fewer at the end of the file
+     * @throws IOException if the file can't be mapped
+     */
+    private void map(long start, int size) throws IOException {
+        windowStart = start;
+        limit = (int) Math.min(size, fileSize - start);
+        bytes = channel.map(FileChannel.MapMode.READ_ONLY, start, limit);
+        position = 0;
+    }
+
+    /**
+     * Closes the file. The mapped window stays readable until it is garbage collected.
+     *
+     * @throws IOException if the file can't be closed
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -3,12 +3,16 @@ package other;
 /**
  * This class represents a Patient, which extends the Person class.
  * A Patient has a profile and a linked list of visits.
+ * The last visit and the total charged for the visits are cached,
+ * so adding a visit doesn't walk the list.
  *
  * @author Divit Shetty (dps190)
  */
 public class Patient extends Person {
 
-    private Visit visit;
+    private Visit visit;     // The first visit in the list
+    private Visit lastVisit; // The last visit in the list
+    private long balance;    // The total charged for the visits, in dollars
 
     /**
      * Constructor for the Patient class.
@@ -18,12 +22,16 @@ public class Patient extends Person {
     public Patient(Profile profile) {
         super(profile);
         this.visit = null; // No visits initially
+        this.lastVisit = null;
+        this.balance = 0;
     }
 
     /**
      * Adds a new visit to the patient's list of visits.
      * This method maintains a linked list of visits, ensuring
      * that the most recent visit is added at the end of the list.
+     * The visit is linked after the cached last visit, so this is O(1),
+     * and its provider's rate is added to the balance.
      *
      * @param newVisit The visit to be added.
      *                 If it's the first visit, it will be set as the head of the list.
@@ -33,13 +41,19 @@ public class Patient extends Person {
         if (visit == null) {
             visit = newVisit;
         } else {
-            Visit current = visit;
-            // Traverse till the last visit in the list
-            while (current.getNext() != null) {
-                current = current.getNext();
-            }
-            current.setNext(newVisit);  // Link the new visit at the end
+            lastVisit.setNext(newVisit);  // Link the new visit at the end
         }
+        lastVisit = newVisit;
+        balance += newVisit.getAppointment().getProvider().rate();
+    }
+
+    /**
+     * Get the total charged for the patient's visits.
+     *
+     * @return The balance in dollars.
+     */
+    public long getBalance() {
+        return this.balance;
     }
 
     /**
@@ -0,0 +1,146 @@
+package other;
+
+import util.Date;
+import util.Map;
+
+/**
+ * This class finds scheduled appointments by patient, date and timeslot.
+ * Keys compare the patients' profiles, which match names ignoring case, so a lookup
+ * is one hash probe and doesn't upper-case any names while searching.
+ * A patient can hold an office and an imaging appointment at the same timeslot,
+ * so each key keeps its appointments in booking order.
+ *
+ * @author Richard Li (rl902)
+ */
+public class PatientIndex {
+    private final Map<Key, Entry> entries; // The appointments stored under each key
+
+    // The patient, date and timeslot of an appointment
+    private static final class Key {
+        private final Profile patient;
+        private final int epochDay;
+        private final int slot;
+        private final int hash;
+
+        Key(Profile patient, Date date, Timeslot timeslot) {
+            this.patient = patient;
+            epochDay = date.getEpochDay();
+            slot = timeslot.getSlot();
+            int h = patient.hashCode();
+            h = 31 * h + epochDay;
+            hash = 31 * h + slot;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) obj;
+            return hash == other.hash && epochDay == other.epochDay && slot == other.slot
+                    && patient.equals(other.patient); // Names ignoring case, and dob
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    // An appointment stored under a key, linked to the next one booked with the same key
+    private static final class Entry {
+        private final Appointment appointment;
+        private Entry next;
+
+        Entry(Appointment appointment) {
+            this.appointment = appointment;
+        }
+    }
+
+    /**
+     * Constructs an empty index.
+     */
+    public PatientIndex() {
+        entries = new Map<>();
+    }
+
+    /**
+     * Returns the key of an appointment.
+     *
+     * @param appointment the appointment
+     * @return the key for the appointment's patient, date and timeslot
+     */
+    private static Key keyOf(Appointment appointment) {
+        return new Key(appointment.getPatient().getProfile(), appointment.getDate(), appointment.getTimeslot());
+    }
+
+    /**
+     * Adds a scheduled appointment to the index.
+     *
+     * @param appointment the appointment being scheduled
+     */
+    public void add(Appointment appointment) {
+        Key key = keyOf(appointment);
+        Entry entry = new Entry(appointment);
+        Entry first = entries.get(key);
+        if (first == null) {
+            entries.put(key, entry);
+            return;
+        }
+        while (first.next != null) {
+            first = first.next;
+        }
+        first.next = entry; // Keep booking order
+    }
+
+    /**
+     * Removes a scheduled appointment from the index.
+     *
+     * @param appointment the appointment being removed
+     */
+    public void remove(Appointment appointment) {
+        Key key = keyOf(appointment);
+        Entry first = entries.get(key);
+        if (first == null) {
+            return; // Not in the index
+        }
+        if (first.appointment == appointment) {
+            if (first.next == null) {
+                entries.remove(key);
+            } else {
+                entries.put(key, first.next);
+            }
+            return;
+        }
+        for (Entry entry = first; entry.next != null; entry = entry.next) {
+            if (entry.next.appointment == appointment) {
+                entry.next = entry.next.next;
+                return;
+            }
+        }
+    }
+
+    /**
+     * Finds the earliest booked appointment of a patient at a date and timeslot.
+     * Names are matched ignoring case.
+     *
+     * @param patient the patient's profile
+     * @param date the date of the appointment
+     * @param timeslot the timeslot of the appointment
+     * @return the appointment, or null if the patient has none at that time
+     */
+    public Appointment find(Profile patient, Date date, Timeslot timeslot) {
+        Entry first = entries.get(new Key(patient, date, timeslot));
+        return (first == null) ? null : first.appointment;
+    }
+
+    /**
+     * Removes every appointment from the index.
+     */
+    public void clear() {
+        entries.clear();
+    }
+}
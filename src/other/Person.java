@@ -10,7 +10,7 @@ import util.Date;
  */
 public class Person implements Comparable<Person> {
 
-    protected Profile profile;
+    protected final Profile profile;
 
     /**
      * Constructor for the Person class.
@@ -21,6 +21,15 @@ public class Person implements Comparable<Person> {
         this.profile = profile;
     }
 
+    /**
+     * Returns the profile of the person.
+     *
+     * @return the profile
+     */
+    public Profile getProfile() {
+        return this.profile;
+    }
+
     /**
      * Returns the first name of the profile.
      *
@@ -77,6 +86,16 @@ public class Person implements Comparable<Person> {
         return this.profile.equals(otherPerson.profile);
     }
 
+    /**
+     * Return a hash code consistent with equals, based on the profile.
+     *
+     * @return The hash code of the Person's profile.
+     */
+    @Override
+    public int hashCode() {
+        return this.profile.hashCode();
+    }
+
     /**
      * Return a string representation of the Person's profile.
      *
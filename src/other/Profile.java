@@ -8,11 +8,17 @@ import util.Date;
 /**
  * Represents a profile for a person, including first name, last name, and date of birth.
  * The profile can be compared to other profiles based on last name, first name, and date of birth.
+ * Profiles of scheduled patients get an id from a ProfilePool, so two of them can be
+ * matched by id instead of comparing the names.
  */
 public class Profile implements Comparable<Profile> {
-    private String fname;
-    private String lname;
-    private Date dob;
+    static final int NO_ID = 0; // The id of a profile that isn't pooled
+
+    private final String fname;
+    private final String lname;
+    private final Date dob;
+    private final int hash; // Cached hash code, the fields never change
+    private int id; // The patient's id in a ProfilePool, or NO_ID
 
     /**
      * Constructs a Profile instance with the specified first name, last name, and date of birth.
@@ -25,6 +31,9 @@ public class Profile implements Comparable<Profile> {
         this.fname = fname;
         this.lname = lname;
         this.dob = dob;
+        int hash = foldedHash(fname);
+        hash = 31 * hash + foldedHash(lname);
+        this.hash = 31 * hash + dob.hashCode();
     }
 
     /**
@@ -63,6 +72,9 @@ public class Profile implements Comparable<Profile> {
      */
     @Override
     public int compareTo(Profile other) {
+        if (this == other) {
+            return 0; // A pooled profile compared with itself
+        }
         int lastNameComparison = this.lname.compareTo(other.lname);
         if (lastNameComparison != 0) {
             return Integer.signum(lastNameComparison);  // Will return -1, 0, or 1
@@ -87,11 +99,51 @@ public class Profile implements Comparable<Profile> {
             return false;
         }
         Profile profile = (Profile) obj;
-        return fname.equalsIgnoreCase(profile.fname) &&
+        if (id != NO_ID && id == profile.id) {
+            return true; // The pool gave both the same patient's id
+        }
+        return hash == profile.hash &&
+                fname.equalsIgnoreCase(profile.fname) &&
                 lname.equalsIgnoreCase(profile.lname) &&
                 dob.equals(profile.dob);
     }
 
+    /**
+     * Returns a hash code consistent with equals.
+     * Names are hashed the same way equalsIgnoreCase compares them.
+     * The hash is computed once in the constructor.
+     *
+     * @return the hash code of the profile
+     */
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    /**
+     * Sets the id given to this profile by a ProfilePool.
+     *
+     * @param id the patient's id in the pool
+     */
+    void setId(int id) {
+        this.id = id;
+    }
+
+    /**
+     * Hashes a name so that names equal under String.equalsIgnoreCase hash the same.
+     * Each character is folded as it is hashed, so no folded copy of the name is made.
+     *
+     * @param name the name to hash
+     * @return the hash of the case-folded name
+     */
+    private static int foldedHash(String name) {
+        int h = 0;
+        for (int i = 0; i < name.length(); i++) {
+            h = 31 * h + Character.toLowerCase(Character.toUpperCase(name.charAt(i)));
+        }
+        return h;
+    }
+
     /**
      * Returns a string representation of the profile, including the first name, last name, and date of birth.
      *
@@ -0,0 +1,105 @@
+package other;
+
+import util.Map;
+
+/**
+ * This class shares the profiles of the patients with scheduled appointments.
+ * Each patient in the pool gets an id, and every profile handed out for that patient
+ * carries the id, so Profile.equals() can match two of them with one int compare.
+ * A profile spelled exactly like the pooled one is replaced by the pooled instance;
+ * a profile spelled with different case keeps its own names, since those are printed,
+ * and only takes the id. The pool counts the scheduled appointments of each patient
+ * and drops the patient when the last one is removed.
+ *
+ * @author Richard Li (rl902)
+ */
+public class ProfilePool {
+    private final Map<Profile, Pooled> patients; // The pool entry of each patient
+    private int nextId; // Ids are never reused, so a dropped patient's id can't match anyone else
+
+    // The pooled profile and id of a patient, and how many scheduled appointments refer to it
+    private static final class Pooled {
+        private final Profile profile;
+        private final int id;
+        private int appointments;
+
+        Pooled(Profile profile, int id) {
+            this.profile = profile;
+            this.id = id;
+        }
+    }
+
+    /**
+     * Constructs an empty pool.
+     */
+    public ProfilePool() {
+        patients = new Map<>();
+        nextId = Profile.NO_ID + 1;
+    }
+
+    /**
+     * Returns the profile to use for a patient who is being scheduled.
+     * If the patient is in the pool, this is the pooled instance when the names are
+     * spelled the same, or the given profile with the patient's id otherwise.
+     * A patient who isn't in the pool yet is added by retain().
+     *
+     * @param profile the profile read from the command
+     * @return the profile to store in the appointment
+     */
+    public Profile intern(Profile profile) {
+        Pooled pooled = patients.get(profile);
+        if (pooled == null) {
+            return profile;
+        }
+        if (pooled.profile.getFname().equals(profile.getFname())
+                && pooled.profile.getLname().equals(profile.getLname())) {
+            return pooled.profile;
+        }
+        profile.setId(pooled.id);
+        return profile;
+    }
+
+    /**
+     * Counts a scheduled appointment of a patient, adding the patient if it is new.
+     *
+     * @param profile the profile stored in the appointment
+     */
+    public void retain(Profile profile) {
+        Pooled pooled = patients.get(profile);
+        if (pooled == null) {
+            pooled = new Pooled(profile, nextId++);
+            patients.put(profile, pooled);
+        }
+        profile.setId(pooled.id);
+        pooled.appointments++;
+    }
+
+    /**
+     * Stops counting a removed appointment of a patient, dropping the patient
+     * when it was the last one.
+     *
+     * @param profile the profile stored in the appointment
+     */
+    public void release(Profile profile) {
+        Pooled pooled = patients.get(profile);
+        if (pooled != null && --pooled.appointments == 0) {
+            patients.remove(profile);
+        }
+    }
+
+    /**
+     * Returns the number of patients in the pool.
+     *
+     * @return the number of patients
+     */
+    public int size() {
+        return patients.size();
+    }
+
+    /**
+     * Removes every patient from the pool.
+     */
+    public void clear() {
+        patients.clear();
+    }
+}
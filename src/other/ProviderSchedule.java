@@ -0,0 +1,144 @@
+package other;
+
+import util.Date;
+import util.Map;
+
+/**
+ * This class keeps track of which timeslots each provider has booked on each date.
+ * Every provider has a 12-bit mask of booked timeslots per date, with bit (slot - 1)
+ * set when that timeslot is taken. Checking a provider's availability is a hash
+ * lookup plus a bit test, so the appointment list never has to be scanned.
+ *
+ * @author Richard Li (rl902)
+ */
+public class ProviderSchedule {
+    public static final int ALL_SLOTS = (1 << Timeslot.SLOTS) - 1; // Mask with every timeslot set
+
+    private final Map<Provider, Days> schedules; // The booked timeslots of each provider
+
+    // The masks of one provider, indexed by epoch day minus the first day stored
+    private static final class Days {
+        private int firstDay;
+        private short[] masks;
+
+        Days(int epochDay) {
+            firstDay = epochDay;
+            masks = new short[8];
+        }
+
+        int get(int epochDay) {
+            int i = epochDay - firstDay;
+            return (i < 0 || i >= masks.length) ? 0 : masks[i];
+        }
+
+        /**
+         * Sets the mask for a date, growing the array in either direction to cover it.
+         */
+        void set(int epochDay, int mask) {
+            int i = epochDay - firstDay;
+            if (i < 0 || i >= masks.length) {
+                int from = Math.min(firstDay, epochDay);
+                int to = Math.max(firstDay + masks.length, epochDay + 1);
+                short[] grown = new short[Math.max(to - from, masks.length * 2)];
+                System.arraycopy(masks, 0, grown, firstDay - from, masks.length);
+                masks = grown;
+                firstDay = from;
+                i = epochDay - firstDay;
+            }
+            masks[i] = (short) mask;
+        }
+    }
+
+    /**
+     * Constructs an empty schedule.
+     */
+    public ProviderSchedule() {
+        schedules = new Map<>();
+    }
+
+    /**
+     * Returns the mask of timeslots the provider has booked on a date.
+     *
+     * @param provider the provider to check
+     * @param date the date to check
+     * @return the booked timeslots, bit (slot - 1) set for each one
+     */
+    public int bookedSlots(Provider provider, Date date) {
+        Days days = schedules.get(provider);
+        return (days == null) ? 0 : days.get(date.getEpochDay());
+    }
+
+    /**
+     * Returns the mask of timeslots the provider still has open on a date.
+     *
+     * @param provider the provider to check
+     * @param date the date to check
+     * @return the free timeslots, bit (slot - 1) set for each one
+     */
+    public int freeSlots(Provider provider, Date date) {
+        return ~bookedSlots(provider, date) & ALL_SLOTS;
+    }
+
+    /**
+     * Checks if the provider has an appointment at the timeslot on a date.
+     *
+     * @param provider the provider to check
+     * @param date the date to check
+     * @param timeslot the timeslot to check
+     * @return true if the timeslot is booked, false otherwise
+     */
+    public boolean isBooked(Provider provider, Date date, Timeslot timeslot) {
+        return (bookedSlots(provider, date) & bit(timeslot)) != 0;
+    }
+
+    /**
+     * Marks the timeslot of an appointment as booked for its provider.
+     *
+     * @param appointment the appointment being scheduled
+     */
+    public void book(Appointment appointment) {
+        Provider provider = appointment.getProvider();
+        int epochDay = appointment.getDate().getEpochDay();
+        Days days = schedules.get(provider);
+        if (days == null) {
+            days = new Days(epochDay);
+            schedules.put(provider, days);
+        }
+        days.set(epochDay, days.get(epochDay) | bit(appointment.getTimeslot()));
+    }
+
+    /**
+     * Marks the timeslot of an appointment as free again for its provider.
+     *
+     * @param appointment the appointment being removed
+     */
+    public void release(Appointment appointment) {
+        Days days = schedules.get(appointment.getProvider());
+        if (days == null) {
+            return; // Provider has nothing booked
+        }
+        int epochDay = appointment.getDate().getEpochDay();
+        int booked = days.get(epochDay);
+        if (booked == 0) {
+            return; // Nothing booked that day
+        }
+        days.set(epochDay, booked & ~bit(appointment.getTimeslot()));
+    }
+
+    /**
+     * Removes every booking from the schedule.
+     */
+    public void clear() {
+        schedules.clear();
+    }
+
+    /**
+     * Returns the bit of a timeslot in the masks.
+     *
+     * @param timeslot the timeslot
+     * @return the mask with only the timeslot's bit set
+     */
+    public static int bit(Timeslot timeslot) {
+        return 1 << (timeslot.getSlot() - 1);
+    }
+}
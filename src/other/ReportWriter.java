@@ -0,0 +1,155 @@
+package other;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+
+/**
+ * This class writes the lines of a report into a char buffer and hands the buffer
+ * to the output stream in large chunks, instead of one println call per line.
+ * Nothing reaches the stream until the buffer fills or flush() is called, so
+ * every report command must call flush() when it is done.
+ *
+ * @author Richard Li (rl902)
+ */
+public class ReportWriter implements Appendable {
+    private static final int CHUNK = 1 << 15; // Chars buffered before writing to the stream
+    private static final String NEW_LINE = System.lineSeparator();
+
+    private final OutputStream out; // The stream the report goes to
+    private final Writer writer; // Encodes the chars into the stream
+    private final char[] buffer; // The chars not written yet
+    private int used; // The number of chars in the buffer
+
+    /**
+     * Constructs a report writer for the given stream.
+     *
+     * @param out the stream to write the report to, such as System.out
+     */
+    public ReportWriter(OutputStream out) {
+        this.out = out;
+        this.writer = new OutputStreamWriter(out);
+        this.buffer = new char[CHUNK];
+    }
+
+    /**
+     * Appends a character to the report.
+     *
+     * @param c the character
+     * @return this writer
+     */
+    @Override
+    public ReportWriter append(char c) {
+        if (used == buffer.length) {
+            drain();
+        }
+        buffer[used++] = c;
+        return this;
+    }
+
+    /**
+     * Appends a sequence of characters to the report.
+     *
+     * @param text the characters, "null" is appended if it is null
+     * @return this writer
+     */
+    @Override
+    public ReportWriter append(CharSequence text) {
+        if (text == null) {
+            text = "null";
+        }
+        return append(text, 0, text.length());
+    }
+
+    /**
+     * Appends part of a sequence of characters to the report.
+     *
+     * @param text the characters, "null" is used if it is null
+     * @param start the index of the first character to append
+     * @param end the index after the last character to append
+     * @return this writer
+     */
+    @Override
+    public ReportWriter append(CharSequence text, int start, int end) {
+        if (text == null) {
+            text = "null";
+        }
+        while (start < end) {
+            if (used == buffer.length) {
+                drain();
+            }
+            int count = Math.min(end - start, buffer.length - used);
+            if (text instanceof String) {
+                ((String) text).getChars(start, start + count, buffer, used);
+            } else {
+                for (int i = 0; i < count; i++) {
+                    buffer[used + i] = text.charAt(start + i);
+                }
+            }
+            used += count;
+            start += count;
+        }
+        return this;
+    }
+
+    /**
+     * Appends some text followed by the end of the line.
+     *
+     * @param text the line
+     * @return this writer
+     */
+    public ReportWriter println(CharSequence text) {
+        return append(text).newLine();
+    }
+
+    /**
+     * Appends an appointment in report format followed by the end of the line.
+     *
+     * @param appointment the appointment
+     * @return this writer
+     */
+    public ReportWriter println(Appointment appointment) {
+        try {
+            AppointmentFormatter.appendAppointment(this, appointment);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return newLine();
+    }
+
+    /**
+     * Ends the current line.
+     *
+     * @return this writer
+     */
+    public ReportWriter newLine() {
+        return append(NEW_LINE);
+    }
+
+    /**
+     * Writes everything buffered to the stream and flushes it.
+     */
+    public void flush() {
+        drain();
+        try {
+            writer.flush();
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Hands the buffered chars to the encoder and empties the buffer.
+     */
+    private void drain() {
+        try {
+            writer.write(buffer, 0, used);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        used = 0;
+    }
+}
@@ -0,0 +1,123 @@
+package other;
+
+import util.Date;
+
+/**
+ * This class keeps track of which imaging rooms are booked at each timeslot.
+ * Every location has one room of each Radiology type, so the rooms of a date fit in
+ * a block of Location x Radiology masks, with bit (slot - 1) set when that timeslot
+ * is taken. The blocks are stored in one dense array indexed by epoch day.
+ *
+ * @author Richard Li (rl902)
+ */
+public class RoomSchedule {
+    private static final int ROOMS = Radiology.values().length; // Rooms at each location
+    private static final int BLOCK = Location.values().length * ROOMS; // Masks for one date
+
+    private int firstDay; // The epoch day of the first block stored
+    private short[] masks; // The booked timeslots of every room, one block per date
+
+    /**
+     * Constructs an empty room schedule.
+     */
+    public RoomSchedule() {
+        masks = new short[0];
+    }
+
+    /**
+     * Returns the index of a room's mask for a date, or -1 if the date is not stored.
+     *
+     * @param epochDay the date as days since the epoch
+     * @param location the location of the room
+     * @param room the type of the room
+     * @return the index into the masks
+     */
+    private int index(int epochDay, Location location, Radiology room) {
+        int day = epochDay - firstDay;
+        if (day < 0 || day >= masks.length / BLOCK) {
+            return -1;
+        }
+        return day * BLOCK + location.ordinal() * ROOMS + room.ordinal();
+    }
+
+    /**
+     * Grows the array in either direction so it has a block for the date.
+     *
+     * @param epochDay the date as days since the epoch
+     */
+    private void cover(int epochDay) {
+        int days = masks.length / BLOCK;
+        if (days == 0) {
+            firstDay = epochDay;
+            masks = new short[8 * BLOCK];
+            return;
+        }
+        int from = Math.min(firstDay, epochDay);
+        int to = Math.max(firstDay + days, epochDay + 1);
+        short[] grown = new short[Math.max(to - from, days * 2) * BLOCK];
+        System.arraycopy(masks, 0, grown, (firstDay - from) * BLOCK, masks.length);
+        masks = grown;
+        firstDay = from;
+    }
+
+    /**
+     * Returns the mask of timeslots a room is booked for on a date.
+     *
+     * @param location the location of the room
+     * @param room the type of the room
+     * @param date the date to check
+     * @return the booked timeslots, bit (slot - 1) set for each one
+     */
+    public int bookedSlots(Location location, Radiology room, Date date) {
+        int i = index(date.getEpochDay(), location, room);
+        return (i < 0) ? 0 : masks[i];
+    }
+
+    /**
+     * Checks if a room is booked at the timeslot on a date.
+     *
+     * @param location the location of the room
+     * @param room the type of the room
+     * @param date the date to check
+     * @param timeslot the timeslot to check
+     * @return true if the room is booked, false otherwise
+     */
+    public boolean isBooked(Location location, Radiology room, Date date, Timeslot timeslot) {
+        return (bookedSlots(location, room, date) & ProviderSchedule.bit(timeslot)) != 0;
+    }
+
+    /**
+     * Marks the room of an imaging appointment as booked at its timeslot.
+     *
+     * @param imaging the imaging appointment being scheduled
+     */
+    public void book(Imaging imaging) {
+        int epochDay = imaging.getDate().getEpochDay();
+        Location location = imaging.getProvider().getLocation();
+        int i = index(epochDay, location, imaging.getRoom());
+        if (i < 0) {
+            cover(epochDay);
+            i = index(epochDay, location, imaging.getRoom());
+        }
+        masks[i] |= ProviderSchedule.bit(imaging.getTimeslot());
+    }
+
+    /**
+     * Marks the room of an imaging appointment as free again at its timeslot.
+     *
+     * @param imaging the imaging appointment being removed
+     */
+    public void release(Imaging imaging) {
+        int i = index(imaging.getDate().getEpochDay(), imaging.getProvider().getLocation(), imaging.getRoom());
+        if (i >= 0) {
+            masks[i] &= ~ProviderSchedule.bit(imaging.getTimeslot());
+        }
+    }
+
+    /**
+     * Removes every booking from the schedule.
+     */
+    public void clear() {
+        masks = new short[0];
+    }
+}
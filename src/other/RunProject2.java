@@ -1,7 +1,25 @@
 package other;
 
+import java.io.IOException;
+
 public class RunProject2 {
+    /**
+     * Runs the scheduler on standard input, or in batch mode when given
+     * a command file and an output file: RunProject2 commands.txt output.txt
+     * A batch run that can't read its commands or write its output exits with status 1.
+     *
+     * @param args nothing, or the command file and the output file
+     */
     public static void main(String [] args){
+        if (args.length == 2) {
+            try {
+                new ClinicManager().runBatch(args[0], args[1]);
+            } catch (IOException e) {
+                System.err.println("Batch run failed: " + e.getMessage());
+                System.exit(1);
+            }
+            return;
+        }
         new ClinicManager().run();
     }
 }
@@ -0,0 +1,160 @@
+package other;
+
+import util.Date;
+import util.List;
+import util.Map;
+
+/**
+ * This class assigns technicians to imaging appointments in rotation order.
+ * Each technician gets a bit by its position in the rotation, and the technicians
+ * booked at each date and timeslot are kept as a bitset. Finding the next eligible
+ * technician masks out the booked ones and the ones whose location has the room
+ * taken, then scans the words from the rotation pointer, so only eligible
+ * technicians are ever considered.
+ *
+ * @author Divit Shetty (dps190)
+ */
+public class TechnicianScheduler {
+    private final List<Technician> rotation; // The technicians in rotation order
+    private final Map<Technician, Integer> positions; // The position of each technician in the rotation
+    private final long[][] byLocation; // The technicians working at each location, as bitsets
+    private final Map<Integer, long[]> booked; // The technicians booked at each date and timeslot
+    private final int words; // The number of longs in each bitset
+    private int next; // The position the rotation continues from
+
+    /**
+     * Constructs a scheduler for the technicians in the given rotation order.
+     *
+     * @param rotation the technicians in the order they take turns
+     */
+    public TechnicianScheduler(List<Technician> rotation) {
+        this.rotation = rotation;
+        int count = rotation.size();
+        words = (count + 63) >>> 6;
+        positions = new Map<>(count);
+        byLocation = new long[Location.values().length][words];
+        for (int i = 0; i < count; i++) {
+            Technician technician = rotation.get(i);
+            positions.put(technician, i);
+            byLocation[technician.getLocation().ordinal()][i >>> 6] |= 1L << i;
+        }
+        booked = new Map<>();
+    }
+
+    /**
+     * Returns the key of a date and timeslot in the booked map.
+     *
+     * @param date the date
+     * @param timeslot the timeslot
+     * @return the key of the date and timeslot
+     */
+    private static Integer key(Date date, Timeslot timeslot) {
+        return date.getEpochDay() * Timeslot.SLOTS + timeslot.getSlot() - 1;
+    }
+
+    /**
+     * Assigns the next technician in rotation who is free at the timeslot and
+     * whose location has the requested room free, then advances the rotation past them.
+     *
+     * @param date the requested appointment date
+     * @param timeslot the requested timeslot
+     * @param room the requested imaging room
+     * @param rooms the current room bookings
+     * @return the assigned technician, or null if no technician is available
+     */
+    public Technician assign(Date date, Timeslot timeslot, Radiology room, RoomSchedule rooms) {
+        int count = rotation.size();
+        if (count == 0) {
+            return null;
+        }
+        // Technicians that can't take the appointment: booked already, or their room is taken
+        long[] blocked = new long[words];
+        long[] taken = booked.get(key(date, timeslot));
+        if (taken != null) {
+            System.arraycopy(taken, 0, blocked, 0, words);
+        }
+        for (Location location : Location.values()) {
+            if (rooms.isBooked(location, room, date, timeslot)) {
+                long[] members = byLocation[location.ordinal()];
+                for (int w = 0; w < words; w++) {
+                    blocked[w] |= members[w];
+                }
+            }
+        }
+
+        int found = nextFree(blocked, next, count);
+        if (found < 0) {
+            found = nextFree(blocked, 0, next); // Wrap around to the start of the rotation
+        }
+        if (found < 0) {
+            return null; // No available technician found
+        }
+        next = (found + 1) % count;
+        return rotation.get(found);
+    }
+
+    /**
+     * Finds the first position in a range whose bit is clear.
+     *
+     * @param blocked the bitset of positions to skip
+     * @param from the first position to check
+     * @param to the position to stop before
+     * @return the first clear position, or -1 if every position in the range is set
+     */
+    private static int nextFree(long[] blocked, int from, int to) {
+        if (from >= to) {
+            return -1;
+        }
+        int w = from >>> 6;
+        long free = ~blocked[w] & (-1L << from);
+        while (true) {
+            if (free != 0) {
+                int found = (w << 6) + Long.numberOfTrailingZeros(free);
+                return (found < to) ? found : -1;
+            }
+            if (++w >= blocked.length) {
+                return -1;
+            }
+            free = ~blocked[w];
+        }
+    }
+
+    /**
+     * Marks the technician of an appointment as booked at its date and timeslot.
+     *
+     * @param appointment the appointment being scheduled
+     */
+    public void book(Appointment appointment) {
+        Integer position = positions.get((Technician) appointment.getProvider());
+        if (position == null) {
+            return; // Not in the rotation
+        }
+        Integer key = key(appointment.getDate(), appointment.getTimeslot());
+        long[] taken = booked.get(key);
+        if (taken == null) {
+            taken = new long[words];
+            booked.put(key, taken);
+        }
+        taken[position >>> 6] |= 1L << position;
+    }
+
+    /**
+     * Marks the technician of an appointment as free again at its date and timeslot.
+     *
+     * @param appointment the appointment being removed
+     */
+    public void release(Appointment appointment) {
+        Integer position = positions.get((Technician) appointment.getProvider());
+        long[] taken = booked.get(key(appointment.getDate(), appointment.getTimeslot()));
+        if (position != null && taken != null) {
+            taken[position >>> 6] &= ~(1L << position);
+        }
+    }
+
+    /**
+     * Removes every booking. The rotation keeps its current position.
+     */
+    public void clear() {
+        booked.clear();
+    }
+}
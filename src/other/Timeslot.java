@@ -3,63 +3,73 @@ package other;
 /**
  * This class represents the timeslot for appointments.
  * A Timeslot is a number that represents a specific hour and minute
+ * There are only twelve timeslots, so shared instances are available through of().
  *
  * @author Divit Shetty (dps190)
  */
 public class Timeslot implements Comparable<Timeslot> {
 
-    private int hour;    // The hour of the timeslot (0-23)
-    private int minute;  // The minute of the timeslot (0 or 30)
+    public static final int SLOTS = 12; // The number of timeslots in a day
+
+    // The hour and minute of each slot number, index 0 is unused
+    private static final int[] HOURS = {0, 9, 9, 10, 10, 11, 11, 14, 14, 15, 15, 16, 16};
+    private static final int[] MINUTES = {0, 0, 30, 0, 30, 0, 30, 0, 30, 0, 30, 0, 30};
+
+    // The shared instance of each timeslot, index 0 is unused
+    private static final Timeslot[] SHARED = new Timeslot[SLOTS + 1];
+    static {
+        for (int slot = 1; slot <= SLOTS; slot++) {
+            SHARED[slot] = new Timeslot(slot);
+        }
+    }
+
+    private final int slot;      // The slot number (1-12)
+    private final int hour;      // The hour of the timeslot (0-23)
+    private final int minute;    // The minute of the timeslot (0 or 30)
+    private final String text;   // The timeslot in HH:MM AM/PM format
 
     /**
      * Constructor for Timeslot class.
      * Maps the slot number to the corresponding hour and minute.
+     * Prefer of(), which returns a shared instance instead of creating a new one.
      *
      * @param slot The slot number (1-12).
      * @throws IllegalArgumentException if the slot is invalid.
      */
     public Timeslot(int slot) {
-        if (slot < 1 || slot > 12) {
+        if (slot < 1 || slot > SLOTS) {
             throw new IllegalArgumentException(slot + " is not a valid timeslot");
         }
-        // Set hour and minute based on slot number using helper method (needs to be written [use case])
-        setTimeFromSlot(slot);
+        // Set hour and minute based on slot number
+        this.slot = slot;
+        this.hour = HOURS[slot];
+        this.minute = MINUTES[slot];
+        String amPm = (hour >= 12) ? "PM" : "AM";
+        int displayHour = (hour == 0 || hour == 12) ? 12 : hour % 12;
+        this.text = String.format("%02d:%02d %s", displayHour, minute, amPm);
     }
 
     /**
-     * Maps the slot number to the corresponding hour and minute.
+     * Returns the shared Timeslot for a slot number.
      *
      * @param slot The slot number (1-12).
+     * @return The shared Timeslot for the slot.
+     * @throws IllegalArgumentException if the slot is invalid.
      */
-    private void setTimeFromSlot(int slot) {
-        switch (slot) {
-            case 1:
-                hour = 9; minute = 0; break;
-            case 2:
-                hour = 9; minute = 30; break;
-            case 3:
-                hour = 10; minute = 0; break;
-            case 4:
-                hour = 10; minute = 30; break;
-            case 5:
-                hour = 11; minute = 0; break;
-            case 6:
-                hour = 11; minute = 30; break;
-            case 7:
-                hour = 14; minute = 0; break;
-            case 8:
-                hour = 14; minute = 30; break;
-            case 9:
-                hour = 15; minute = 0; break;
-            case 10:
-                hour = 15; minute = 30; break;
-            case 11:
-                hour = 16; minute = 0; break;
-            case 12:
-                hour = 16; minute = 30; break;
-            default:
-                throw new IllegalArgumentException(slot + " is not a valid timeslot");
+    public static Timeslot of(int slot) {
+        if (slot < 1 || slot > SLOTS) {
+            throw new IllegalArgumentException(slot + " is not a valid timeslot");
         }
+        return SHARED[slot];
+    }
+
+    /**
+     * Get the slot number of the timeslot.
+     *
+     * @return The slot number (1-12), in time order.
+     */
+    public int getSlot() {
+        return slot;
     }
 
     /**
@@ -81,21 +91,19 @@ public class Timeslot implements Comparable<Timeslot> {
     }
 
     /**
-     * Compare two Timeslot objects by hour and minute.
+     * Compare two Timeslot objects by their slot number, which follows hour and minute.
      *
      * @param other The other Timeslot to compare to.
      * @return -1, 0, or 1 depending on whether this timeslot is earlier, the same, or later respectively.
      */
     @Override
     public int compareTo(Timeslot other) {
-        if (this.hour != other.hour) {
-            return Integer.compare(this.hour, other.hour);
-        }
-        return Integer.compare(this.minute, other.minute);
+        return Integer.compare(this.slot, other.slot);
     }
 
     /**
-     * Check if two Timeslot objects are equal based on hour and minute.
+     * Check if two Timeslot objects are equal based on their slot number.
+     * A shared instance from of() is equal to any Timeslot with the same slot.
      *
      * @param obj The object to compare.
      * @return true if the timeslots are equal, false otherwise.
@@ -109,7 +117,17 @@ public class Timeslot implements Comparable<Timeslot> {
             return false;
         }
         Timeslot other = (Timeslot) obj;
-        return this.hour == other.hour && this.minute == other.minute;
+        return this.slot == other.slot;
+    }
+
+    /**
+     * Return a hash code consistent with equals, the slot number.
+     *
+     * @return The hash code of the timeslot.
+     */
+    @Override
+    public int hashCode() {
+        return slot;
     }
 
     /**
@@ -119,8 +137,6 @@ public class Timeslot implements Comparable<Timeslot> {
      */
     @Override
     public String toString() {
-        String amPm = (hour >= 12) ? "PM" : "AM";
-        int displayHour = (hour == 0 || hour == 12) ? 12 : hour % 12;
-        return String.format("%02d:%02d %s", displayHour, minute, amPm);
+        return text;
     }
 }
@@ -0,0 +1,36 @@
+package util;
+
+/**
+ * A source of the current time for Date's calendar checks.
+ * The system clock is used by default; a fixed clock lets a day's commands
+ * be replayed with the same "today" at any time and at full speed.
+ *
+ * @author Divit Shetty (dps190)
+ */
+public interface Clock {
+    /**
+     * Returns the current time.
+     *
+     * @return the current time in milliseconds since 01/01/1970 UTC
+     */
+    long currentTimeMillis();
+
+    /**
+     * Returns the clock that reads the system time.
+     *
+     * @return the system clock
+     */
+    static Clock system() {
+        return System::currentTimeMillis;
+    }
+
+    /**
+     * Returns a clock that always reports the same time.
+     *
+     * @param millis the time to report, in milliseconds since 01/01/1970 UTC
+     * @return the fixed clock
+     */
+    static Clock fixed(long millis) {
+        return () -> millis;
+    }
+}
@@ -1,17 +1,24 @@
 package util;
 
 import java.util.Calendar;
+import java.util.TimeZone;
 
 /**
  * This class represents a Date with year, month, and day.
  * Provides methods to check if a date is valid (isValid()) and to compare dates (compareTo())
+ * The date is also kept packed into one int and as a day number counted from 01/01/1970,
+ * so comparing, hashing and weekday checks are single integer operations.
  *
  * @author Divit Shetty (dps190)
  */
 public class Date implements Comparable <Date>{
-    private int year;
-    private int month;
-    private int day;
+    private final int year;
+    private final int month;
+    private final int day;
+    private final int packed; // year << 9 | month << 5 | day
+    private final boolean packable; // true if the fields fit the packed layout
+    private final int epochDay; // Days since 01/01/1970, out of range fields roll over like Calendar
+    private final int dayOfWeek; // Calendar.SUNDAY to Calendar.SATURDAY
 
     /**
      * Constructs a Date object with the specified year, month, and day.
@@ -24,6 +31,87 @@ public class Date implements Comparable <Date>{
         this.year = year;
         this.month = month;
         this.day = day;
+        this.packed = (year << 9) | (month << 5) | day;
+        this.packable = year >= 0 && year < MAX_PACKED_YEAR && month >= 0 && month <= 15 && day >= 0 && day <= 31;
+        this.epochDay = toEpochDay(year, month, day);
+        this.dayOfWeek = Math.floorMod(epochDay + EPOCH_DAY_OF_WEEK, DAYS_IN_WEEK) + 1;
+    }
+
+    // Epoch constants
+    private static final int MAX_PACKED_YEAR = 1 << 22;
+    private static final int DAYS_IN_WEEK = 7;
+    private static final int EPOCH_DAY_OF_WEEK = 4; // 01/01/1970 was a Thursday, counting Sunday as 0
+    private static final int DAYS_IN_ERA = 146097; // Days in 400 years
+    private static final int EPOCH_OFFSET = 719468; // Days from 03/01/0000 to 01/01/1970
+
+    //helper to turn the fields into a day number
+    /**
+     * Counts the days from 01/01/1970 to the given date in the Gregorian calendar.
+     * Months and days outside their range roll over into the next or previous
+     * month or year, the same way a lenient Calendar does.
+     *
+     * @param year the year
+     * @param month the month, 1 to 12 or out of range
+     * @param day the day of the month, or out of range
+     * @return the number of days since 01/01/1970
+     */
+    private static int toEpochDay(int year, int month, int day) {
+        long y = year + Math.floorDiv(month - 1, 12);
+        int m = Math.floorMod(month - 1, 12) + 1;
+        // Count years from March so the leap day is the last day of the year
+        if (m <= 2) {
+            y--;
+        }
+        long era = Math.floorDiv(y, 400);
+        long yearOfEra = y - era * 400;
+        long dayOfYear = (153 * (m > 2 ? m - 3 : m + 9) + 2) / 5;
+        long dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return (int) (era * DAYS_IN_ERA + dayOfEra - EPOCH_OFFSET + (day - 1));
+    }
+
+    /**
+     * Returns the year of this date.
+     *
+     * @return the year
+     */
+    public int getYear() {
+        return year;
+    }
+
+    /**
+     * Returns the month of this date.
+     *
+     * @return the month, 1 for January
+     */
+    public int getMonth() {
+        return month;
+    }
+
+    /**
+     * Returns the day of the month of this date.
+     *
+     * @return the day
+     */
+    public int getDay() {
+        return day;
+    }
+
+    /**
+     * Returns the number of days from 01/01/1970 to this date.
+     *
+     * @return the epoch day of this date
+     */
+    public int getEpochDay() {
+        return epochDay;
+    }
+
+    /**
+     * Returns the day of the week of this date.
+     *
+     * @return Calendar.SUNDAY through Calendar.SATURDAY
+     */
+    public int getDayOfWeek() {
+        return dayOfWeek;
     }
     
     // Constants for months and their respective days
@@ -48,6 +136,172 @@ public class Date implements Comparable <Date>{
     
     // Day boundaries
     public static final int MIN_DAY = 1;
+    private static final int[] DAYS_IN_MONTH = {0, 31, 28, 31, 30, 31, 30, 31, 31, 30, 31, 30, 31};
+    public static final int BOOKING_WINDOW_MONTHS = 6;
+
+    // Result codes of checkAppointmentDate() and checkBirthDate()
+    public static final int VALID = 0;
+    public static final int NOT_A_DATE = 1;
+    public static final int TODAY_OR_PAST = 2;
+    public static final int BEYOND_WINDOW = 3;
+    public static final int WEEKEND = 4;
+    public static final int TODAY_OR_FUTURE = 5;
+
+    // Cached calendar boundaries, replaced when the day rolls over
+    private static volatile Boundaries boundaries = new Boundaries(Clock.system(), TimeZone.getDefault());
+
+    /**
+     * Today and the end of the booking window as of one day, with the clock and
+     * time zone they came from. Never changed once built, so the checks can read
+     * them without locking; a new one is published when the day rolls over.
+     */
+    private static final class Boundaries {
+        private final Clock clock; // Where the current time comes from
+        private final TimeZone timeZone; // Looked up once, not per check
+        private final int todayEpochDay;
+        private final int horizonEpochDay; // Last day of the booking window
+        private final long nextMidnightMillis; // When these boundaries expire
+
+        /**
+         * Constructs boundaries that are already expired, so the next check rebuilds them.
+         */
+        Boundaries(Clock clock, TimeZone timeZone) {
+            this(clock, timeZone, 0, 0, Long.MIN_VALUE);
+        }
+
+        Boundaries(Clock clock, TimeZone timeZone, int todayEpochDay, int horizonEpochDay, long nextMidnightMillis) {
+            this.clock = clock;
+            this.timeZone = timeZone;
+            this.todayEpochDay = todayEpochDay;
+            this.horizonEpochDay = horizonEpochDay;
+            this.nextMidnightMillis = nextMidnightMillis;
+        }
+    }
+
+    /**
+     * Sets the clock and time zone the calendar checks use to find today.
+     * The cached boundaries are recomputed on the next check.
+     *
+     * @param clock the source of the current time
+     * @param timeZone the time zone that decides when a day starts
+     */
+    public static synchronized void setClock(Clock clock, TimeZone timeZone) {
+        boundaries = new Boundaries(clock, timeZone);
+    }
+
+    /**
+     * Sets the clock the calendar checks use to find today, keeping the time zone.
+     *
+     * @param clock the source of the current time
+     */
+    public static synchronized void setClock(Clock clock) {
+        setClock(clock, boundaries.timeZone);
+    }
+
+    /**
+     * Returns today's date according to the clock.
+     *
+     * @return the number of days from 01/01/1970 to today
+     */
+    public static int todayEpochDay() {
+        return boundaries().todayEpochDay;
+    }
+
+    //helper to keep today and the six month horizon up to date
+    /**
+     * Returns the current boundaries, rebuilding them if the day has passed midnight.
+     * Only a clock read and a comparison unless the day rolled over.
+     *
+     * @return today and the end of the booking window
+     */
+    private static Boundaries boundaries() {
+        Boundaries current = boundaries;
+        if (current.clock.currentTimeMillis() < current.nextMidnightMillis) {
+            return current; // Still the same day
+        }
+        return rebuildBoundaries();
+    }
+
+    /**
+     * Recomputes today and the end of the six month booking window and publishes them.
+     * Only builds Calendars once per day.
+     *
+     * @return the new boundaries
+     */
+    private static synchronized Boundaries rebuildBoundaries() {
+        Boundaries current = boundaries;
+        long now = current.clock.currentTimeMillis();
+        if (now < current.nextMidnightMillis) {
+            return current; // Another thread already rebuilt them
+        }
+        Calendar today = Calendar.getInstance(current.timeZone);
+        today.setTimeInMillis(now);
+
+        Calendar horizon = (Calendar) today.clone();
+        horizon.add(Calendar.MONTH, BOOKING_WINDOW_MONTHS);
+
+        Calendar midnight = (Calendar) today.clone();
+        midnight.set(Calendar.HOUR_OF_DAY, 0);
+        midnight.set(Calendar.MINUTE, 0);
+        midnight.set(Calendar.SECOND, 0);
+        midnight.set(Calendar.MILLISECOND, 0);
+        midnight.add(Calendar.DAY_OF_MONTH, 1);
+
+        boundaries = new Boundaries(current.clock, current.timeZone, toEpochDay(today), toEpochDay(horizon),
+                midnight.getTimeInMillis());
+        return boundaries;
+    }
+
+    /**
+     * Counts the days from 01/01/1970 to the day of a Calendar.
+     *
+     * @param calendar the calendar
+     * @return the epoch day of the calendar's date
+     */
+    private static int toEpochDay(Calendar calendar) {
+        return toEpochDay(calendar.get(Calendar.YEAR), calendar.get(Calendar.MONTH) + 1,
+                calendar.get(Calendar.DAY_OF_MONTH));
+    }
+
+    //validation pipeline for appointment dates in Scheduler
+    /**
+     * Checks if the date can be booked, without throwing or allocating.
+     * Runs the same checks as the booking commands, in the same order.
+     *
+     * @return VALID, NOT_A_DATE, TODAY_OR_PAST, BEYOND_WINDOW or WEEKEND
+     */
+    public int checkAppointmentDate() {
+        if (!isValid()) {
+            return NOT_A_DATE;
+        }
+        Boundaries current = boundaries();
+        if (epochDay <= current.todayEpochDay) {
+            return TODAY_OR_PAST;
+        }
+        if (epochDay > current.horizonEpochDay) {
+            return BEYOND_WINDOW;
+        }
+        if (dayOfWeek == Calendar.SATURDAY || dayOfWeek == Calendar.SUNDAY) {
+            return WEEKEND;
+        }
+        return VALID;
+    }
+
+    //validation pipeline for dates of birth in Scheduler
+    /**
+     * Checks if the date is a valid date of birth, without throwing or allocating.
+     *
+     * @return VALID, NOT_A_DATE or TODAY_OR_FUTURE
+     */
+    public int checkBirthDate() {
+        if (!isValid()) {
+            return NOT_A_DATE;
+        }
+        if (epochDay >= todayEpochDay()) {
+            return TODAY_OR_FUTURE;
+        }
+        return VALID;
+    }
     
     //isLeapYear checks if the year is a leap year and works in isValid
     /**
@@ -77,6 +331,9 @@ public class Date implements Comparable <Date>{
      */
     @Override
     public int compareTo(Date other) {
+        if (this.packable && other.packable) {
+            return this.packed - other.packed;
+        }
         if (this.year != other.year) {
             return this.year - other.year;
         }
@@ -113,9 +370,22 @@ public class Date implements Comparable <Date>{
             return false;
         }
         Date other = (Date) obj;
+        if (packable && other.packable) {
+            return packed == other.packed;
+        }
         return year == other.year && month == other.month && day == other.day;
     }
 
+    /**
+     * Returns a hash code consistent with equals, packing the year, month and day.
+     *
+     * @return the hash code of the date
+     */
+    @Override
+    public int hashCode() {
+        return packed;
+    }
+
     //isValid to check if the date is a valid calendar date
     //works with isLeapYear to check if it's a leap year
     /**
@@ -129,16 +399,14 @@ public class Date implements Comparable <Date>{
             return false;
         }
 
-        // Days in each month
-        final int[] DAYS_IN_MONTH = {0, 31, 28, 31, 30, 31, 30, 31, 31, 30, 31, 30, 31};
-
         // Check for leap year in February
+        int daysInMonth = DAYS_IN_MONTH[month];
         if (isLeapYear() && month == FEBRUARY) {
-            DAYS_IN_MONTH[FEBRUARY] = 29;
+            daysInMonth = LEAP_YEAR_FEB_DAYS;
         }
 
         // Check if the day is valid for the given month
-        if (day < MIN_DAY || day > DAYS_IN_MONTH[month]) {
+        if (day < MIN_DAY || day > daysInMonth) {
             return false;
         }
 
@@ -154,15 +422,8 @@ public class Date implements Comparable <Date>{
      * @return true if the date is today or before, false otherwise
      */
     public boolean isTodayOrBefore() {
-        // Get today's date
-        Calendar today = Calendar.getInstance();
-
-        // Create a Calendar object for the date to be checked
-        Calendar dateToCheck = Calendar.getInstance();
-        dateToCheck.set(year, month - 1, day);  // Calendar months are 0-based, so subtract 1 from the month
-
         //if date is today or before today
-        if (dateToCheck.compareTo(today) <= 0) {
+        if (epochDay <= todayEpochDay()) {
             throw new IllegalArgumentException(String.format("Appointment date: %02d/%02d/%04d is today or a date before today", month, day, year));
         }
         return false;
@@ -175,12 +436,8 @@ public class Date implements Comparable <Date>{
      * @return true if the date is today or after, false otherwise
      */
     public boolean isTodayOrAfter(){
-        Calendar today = Calendar.getInstance();
-        Calendar dateToCheck = Calendar.getInstance();
-        dateToCheck.set(year, month - 1, day);
-
         // If the date is today or after, return false
-        if (dateToCheck.after(today) || dateToCheck.equals(today)) {
+        if (epochDay >= todayEpochDay()) {
             throw new IllegalArgumentException(String.format("Patient dob: %02d/%02d/%04d is today or a date after today",
                     month, day, year));
         }
@@ -195,17 +452,8 @@ public class Date implements Comparable <Date>{
      * @return true if the date is within six months, false otherwise
      */
     public boolean isWithinSixMonths() {
-        Calendar today = Calendar.getInstance();
-
-        Calendar dateToCheck = Calendar.getInstance();
-        dateToCheck.set(year, month - 1, day);
-
-        // Create a Calendar object for six months from today
-        Calendar sixMonthsFromToday = Calendar.getInstance();
-        sixMonthsFromToday.add(Calendar.MONTH, 6);  // Add 6 months to today's date
-
         // Check if the date is not within the next six months
-        if (dateToCheck.after(sixMonthsFromToday)){
+        if (epochDay > boundaries().horizonEpochDay){
             throw new IllegalArgumentException(String.format("Appointment date: %02d/%02d/%04d is not within six months"
             ,month, day,year));
         }
@@ -219,9 +467,6 @@ public class Date implements Comparable <Date>{
      * @return true if the date is not a weekend, false otherwise
      */
     public boolean isWeekend() {
-        Calendar dateToCheck = Calendar.getInstance();
-        dateToCheck.set(year, month - 1, day);
-        int dayOfWeek = dateToCheck.get(Calendar.DAY_OF_WEEK);
         // Check if the day is Saturday or Sunday
         if ((dayOfWeek == Calendar.SATURDAY || dayOfWeek == Calendar.SUNDAY)){
             throw new IllegalArgumentException(String.format("Appointment date: %02d/%02d/%04d is Saturday or Sunday",
@@ -0,0 +1,146 @@
+package util;
+
+/**
+ * An open-addressing hash table that maps elements to their position in an array.
+ * Used by List as an optional index so lookups don't have to scan every element,
+ * and by Map to find the position of a key in its key and value arrays.
+ * Keys are compared with equals(), so they must override hashCode() consistently.
+ *
+ * @author Richard Li (rl902)
+ */
+final class HashIndex {
+    private static final int MIN_CAPACITY = 8; // Smallest table size, must be a power of two
+
+    private Object[] keys; // The keys, null marks an empty bucket
+    private int[] positions; // The position stored for each key
+    private int count; // The number of keys in the table
+
+    /**
+     * Creates an empty index sized for the expected number of keys.
+     *
+     * @param expected the number of keys expected to be stored
+     */
+    HashIndex(int expected) {
+        int capacity = MIN_CAPACITY;
+        while (capacity < expected * 2) {
+            capacity <<= 1;
+        }
+        keys = new Object[capacity];
+        positions = new int[capacity];
+    }
+
+    /**
+     * Spreads the bits of the hash code and maps it to a bucket.
+     *
+     * @param key the key to hash
+     * @param mask the table length minus one
+     * @return the home bucket of the key
+     */
+    private static int bucket(Object key, int mask) {
+        int h = key.hashCode();
+        return (h ^ (h >>> 16)) & mask;
+    }
+
+    /**
+     * Returns the position stored for a key.
+     *
+     * @param key the key to look up
+     * @return the stored position, or -1 if the key is not in the index
+     */
+    int get(Object key) {
+        int mask = keys.length - 1;
+        for (int i = bucket(key, mask); keys[i] != null; i = (i + 1) & mask) {
+            if (keys[i].equals(key)) {
+                return positions[i];
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Stores a position for a key, replacing any existing position.
+     *
+     * @param key the key to store
+     * @param position the position of the key
+     */
+    void put(Object key, int position) {
+        if ((count + 1) * 2 > keys.length) {
+            resize(keys.length << 1);
+        }
+        int mask = keys.length - 1;
+        int i = bucket(key, mask);
+        while (keys[i] != null) {
+            if (keys[i].equals(key)) {
+                positions[i] = position;
+                return;
+            }
+            i = (i + 1) & mask;
+        }
+        keys[i] = key;
+        positions[i] = position;
+        count++;
+    }
+
+    /**
+     * Removes a key from the index.
+     * Uses backward shift deletion so no tombstones are left behind.
+     *
+     * @param key the key to remove
+     */
+    void remove(Object key) {
+        int mask = keys.length - 1;
+        int i = bucket(key, mask);
+        while (keys[i] != null && !keys[i].equals(key)) {
+            i = (i + 1) & mask;
+        }
+        if (keys[i] == null) {
+            return; // Not in the index
+        }
+        // Move later keys of the same probe run back into the hole
+        int hole = i;
+        for (int j = (i + 1) & mask; keys[j] != null; j = (j + 1) & mask) {
+            int home = bucket(keys[j], mask);
+            boolean movable = (hole <= j) ? (home <= hole || home > j) : (home <= hole && home > j);
+            if (movable) {
+                keys[hole] = keys[j];
+                positions[hole] = positions[j];
+                hole = j;
+            }
+        }
+        keys[hole] = null;
+        count--;
+    }
+
+    /**
+     * Removes every key from the index.
+     */
+    void clear() {
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = null;
+        }
+        count = 0;
+    }
+
+    /**
+     * Rehashes every key into a table of the new capacity.
+     *
+     * @param capacity the new table length, a power of two
+     */
+    private void resize(int capacity) {
+        Object[] oldKeys = keys;
+        int[] oldPositions = positions;
+        keys = new Object[capacity];
+        positions = new int[capacity];
+        int mask = capacity - 1;
+        for (int j = 0; j < oldKeys.length; j++) {
+            if (oldKeys[j] != null) {
+                int i = bucket(oldKeys[j], mask);
+                while (keys[i] != null) {
+                    i = (i + 1) & mask;
+                }
+                keys[i] = oldKeys[j];
+                positions[i] = oldPositions[j];
+            }
+        }
+    }
+}
@@ -13,17 +13,63 @@ import java.util.Iterator;
 public class List<E> implements Iterable<E> {
     private E[] objects; // An array to hold elements of type E
     private int size; // The number of elements in the list
+    private HashIndex hashIndex; // Optional hash index of element positions, null if not indexed
+    private int staleFrom = Integer.MAX_VALUE; // Indexed positions at or after this may be out of date
+    private double growthFactor = DEFAULT_GROWTH_FACTOR; // How much the array is multiplied by when full
+
+    // Growth policy constants
+    public static final int DEFAULT_CAPACITY = 4;
+    public static final int MIN_GROWTH = 4;
+    public static final double DEFAULT_GROWTH_FACTOR = 1.5;
 
     // Constructor
     /**
      * Default constructor initializes an empty list with a capacity of 4.
      */
-    @SuppressWarnings("unchecked")
     public List() {
-        this.objects = (E[]) new Object[4]; // Create an array with a default size of 4
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructs an empty list with room for the given number of elements.
+     *
+     * @param initialCapacity the number of elements the list can hold before growing
+     * @throws IllegalArgumentException if the capacity is negative
+     */
+    @SuppressWarnings("unchecked")
+    public List(int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Invalid capacity: " + initialCapacity);
+        }
+        this.objects = (E[]) new Object[initialCapacity];
         this.size = 0; // Start with zero elements
     }
 
+    /**
+     * Constructs an empty list, optionally backed by a hash index.
+     * An indexed list keeps add, contains, indexOf and remove lookups near O(1)
+     * instead of scanning every element. Elements of an indexed list must
+     * override hashCode() consistently with equals().
+     *
+     * @param indexed true to keep a hash index of the elements
+     */
+    public List(boolean indexed) {
+        this(DEFAULT_CAPACITY, indexed);
+    }
+
+    /**
+     * Constructs an empty list with the given capacity, optionally backed by a hash index.
+     *
+     * @param initialCapacity the number of elements the list can hold before growing
+     * @param indexed true to keep a hash index of the elements
+     */
+    public List(int initialCapacity, boolean indexed) {
+        this(initialCapacity);
+        if (indexed) {
+            this.hashIndex = new HashIndex(initialCapacity);
+        }
+    }
+
     /**
      * Returns the size of the list.
      *
@@ -41,6 +87,14 @@ public class List<E> implements Iterable<E> {
      * @return the index of the element, or -1 if not found
      */
     private int find(E e) {
+        if (hashIndex != null) {
+            int position = hashIndex.get(e);
+            if (position >= staleFrom) {
+                reindex(); // The stored position may have shifted after a remove
+                position = hashIndex.get(e);
+            }
+            return position;
+        }
         for (int i = 0; i < size; i++) {
             if (objects[i].equals(e)) {
                 return i;
@@ -49,12 +103,88 @@ public class List<E> implements Iterable<E> {
         return -1;
     }
 
-    // Helper method to grow the array size by 4
+    // Helper method to refresh positions that were shifted by remove
     /**
-     * Grows the size of the array by 4 when it becomes full.
+     * Stores the current position of every element from staleFrom to the end of the list.
+     */
+    private void reindex() {
+        for (int i = staleFrom; i < size; i++) {
+            hashIndex.put(objects[i], i);
+        }
+        staleFrom = Integer.MAX_VALUE;
+    }
+
+    // Helper method to grow the array geometrically
+    /**
+     * Grows the array by the growth factor when it becomes full, and by at least 4.
+     * Geometric growth makes appending amortized O(1) instead of copying every 4 adds.
      */
     private void grow() {
-        objects = Arrays.copyOf(objects, objects.length + 4); // Increase the size of the array
+        int newLength = Math.max(objects.length + MIN_GROWTH, (int) (objects.length * growthFactor));
+        objects = Arrays.copyOf(objects, newLength); // Increase the size of the array
+    }
+
+    /**
+     * Sets the factor the array is multiplied by when it becomes full.
+     * A factor of 1.0 grows by 4 elements at a time.
+     *
+     * @param growthFactor the growth factor, at least 1.0
+     * @throws IllegalArgumentException if the factor is less than 1.0
+     */
+    public void setGrowthFactor(double growthFactor) {
+        if (!(growthFactor >= 1.0)) {
+            throw new IllegalArgumentException("Invalid growth factor: " + growthFactor);
+        }
+        this.growthFactor = growthFactor;
+    }
+
+    /**
+     * Makes sure the list can hold the given number of elements without growing again.
+     *
+     * @param minCapacity the number of elements the list should be able to hold
+     */
+    public void ensureCapacity(int minCapacity) {
+        if (minCapacity > objects.length) {
+            int grown = Math.max(objects.length + MIN_GROWTH, (int) (objects.length * growthFactor));
+            objects = Arrays.copyOf(objects, Math.max(minCapacity, grown));
+        }
+    }
+
+    /**
+     * Shrinks the array so its length equals the number of elements.
+     */
+    public void trimToSize() {
+        if (size < objects.length) {
+            objects = Arrays.copyOf(objects, size);
+        }
+    }
+
+    /**
+     * Returns the length of the backing array.
+     *
+     * @return the number of elements the list can hold before growing
+     */
+    int capacity() {
+        return objects.length;
+    }
+
+    /**
+     * Returns the backing array so Sort can reorder it in place.
+     * Only the first size() entries are elements of the list.
+     *
+     * @return the backing array
+     */
+    E[] elements() {
+        return objects;
+    }
+
+    /**
+     * Marks every indexed position as out of date after the backing array was reordered.
+     */
+    void reordered() {
+        if (hashIndex != null) {
+            staleFrom = 0;
+        }
     }
 
     /**
@@ -64,6 +194,9 @@ public class List<E> implements Iterable<E> {
      * @return true if the element exists in the list, false otherwise
      */
     public boolean contains(E e) {
+        if (hashIndex != null) {
+            return hashIndex.get(e) != -1; // Membership doesn't need an up to date position
+        }
         return find(e) != -1; // Return true if the element is found
     }
 
@@ -81,6 +214,25 @@ public class List<E> implements Iterable<E> {
             grow(); // Grow the array if it's full
         }
         objects[size] = e; // Add the element to the array
+        if (hashIndex != null) {
+            hashIndex.put(e, size);
+        }
+        size++;
+    }
+
+    /**
+     * Adds an element the caller knows is not in the list yet, skipping the duplicate check.
+     *
+     * @param e the element to add
+     */
+    void append(E e) {
+        if (size == objects.length) {
+            grow(); // Grow the array if it's full
+        }
+        objects[size] = e;
+        if (hashIndex != null) {
+            hashIndex.put(e, size);
+        }
         size++;
     }
 
@@ -101,6 +253,10 @@ public class List<E> implements Iterable<E> {
         }
         objects[size - 1] = null; // Nullify the last element
         size--;
+        if (hashIndex != null) {
+            hashIndex.remove(e);
+            staleFrom = Math.min(staleFrom, index); // Elements after the removed one moved left
+        }
     }
 
     /**
@@ -143,6 +299,16 @@ public class List<E> implements Iterable<E> {
      */
     public void set(int index, E e) {
         if (index >= 0 && index < size) {
+            if (hashIndex != null) {
+                if (staleFrom != Integer.MAX_VALUE) {
+                    reindex(); // Refresh before any swap starts so old positions can be trusted
+                }
+                E old = objects[index];
+                if (hashIndex.get(old) == index) {
+                    hashIndex.remove(old);
+                }
+                hashIndex.put(e, index);
+            }
             objects[index] = e;
         } else {
             throw new IndexOutOfBoundsException("Invalid index.");
@@ -0,0 +1,155 @@
+package util;
+
+import java.util.Arrays;
+
+/**
+ * A generic hash map from keys of type K to values of type V.
+ * The keys and values are kept in two dense arrays, and a HashIndex maps each
+ * key to its position in them, so get, put and remove are near O(1) and the
+ * probing code is shared with indexed lists. Keys must override hashCode()
+ * consistently with equals().
+ *
+ * @author Richard Li (rl902)
+ * @param <K> the type of keys in this map
+ * @param <V> the type of values in this map
+ */
+public class Map<K, V> {
+    private static final int MIN_CAPACITY = 4; // Smallest length of the key and value arrays
+
+    private final HashIndex index; // The position of each key in the arrays
+    private Object[] keys; // The keys, in positions 0 to size - 1
+    private Object[] values; // The value stored for each key, at the same position
+    private int size; // The number of keys in the map
+
+    /**
+     * Default constructor initializes an empty map.
+     */
+    public Map() {
+        this(MIN_CAPACITY);
+    }
+
+    /**
+     * Constructs an empty map with room for the given number of keys before it grows.
+     *
+     * @param expected the number of keys expected to be stored
+     */
+    public Map(int expected) {
+        int capacity = Math.max(expected, MIN_CAPACITY);
+        index = new HashIndex(capacity);
+        keys = new Object[capacity];
+        values = new Object[capacity];
+    }
+
+    /**
+     * Returns the number of keys in the map.
+     *
+     * @return the number of keys
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks if the map is empty.
+     *
+     * @return true if the map has no keys, false otherwise
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the value stored for a key.
+     *
+     * @param key the key to look up
+     * @return the value, or null if the key is not in the map
+     */
+    @SuppressWarnings("unchecked")
+    public V get(K key) {
+        int position = index.get(key);
+        return (position == -1) ? null : (V) values[position];
+    }
+
+    /**
+     * Checks if the map has a value for a key.
+     *
+     * @param key the key to check for
+     * @return true if the key is in the map, false otherwise
+     */
+    public boolean containsKey(K key) {
+        return index.get(key) != -1;
+    }
+
+    /**
+     * Stores a value for a key, replacing any existing value.
+     *
+     * @param key the key, not null
+     * @param value the value to store
+     */
+    public void put(K key, V value) {
+        int position = index.get(key);
+        if (position != -1) {
+            values[position] = value;
+            return;
+        }
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, size * 2);
+            values = Arrays.copyOf(values, size * 2);
+        }
+        keys[size] = key;
+        values[size] = value;
+        index.put(key, size);
+        size++;
+    }
+
+    /**
+     * Removes a key and its value from the map.
+     * The last key is moved into the freed position so the arrays stay dense.
+     *
+     * @param key the key to remove
+     * @return the value that was stored, or null if the key was not in the map
+     */
+    @SuppressWarnings("unchecked")
+    public V remove(K key) {
+        int position = index.get(key);
+        if (position == -1) {
+            return null; // Not in the map
+        }
+        V removed = (V) values[position];
+        index.remove(key);
+        int last = size - 1;
+        if (position != last) {
+            keys[position] = keys[last];
+            values[position] = values[last];
+            index.put(keys[position], position);
+        }
+        keys[last] = null;
+        values[last] = null;
+        size--;
+        return removed;
+    }
+
+    /**
+     * Removes every key from the map.
+     */
+    public void clear() {
+        index.clear();
+        Arrays.fill(keys, 0, size, null);
+        Arrays.fill(values, 0, size, null);
+        size = 0;
+    }
+
+    /**
+     * Returns the keys of the map, in no particular order.
+     *
+     * @return a new list of the keys
+     */
+    @SuppressWarnings("unchecked")
+    public List<K> keys() {
+        List<K> list = new List<>(size);
+        for (int i = 0; i < size; i++) {
+            list.append((K) keys[i]); // Keys are unique
+        }
+        return list;
+    }
+}
@@ -2,41 +2,74 @@ package util;
 import other.Appointment;
 import other.*;
 
+import java.util.Comparator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
 
 /**
  * A generic Sort class for sorting elements in a List.
+ * Uses a stable natural merge sort over the List's backing array, so lists that are
+ * already sorted, or nearly sorted from the previous command, cost close to O(n).
+ * Lists at or above the parallel threshold are split across a ForkJoinPool and the
+ * sorted pieces are merged, which gives exactly the same order as the sequential sort.
  *
  * @author Richard Li (rl902)
  */
 public class Sort {
+    private static final int MIN_RUN = 16; // Short runs are extended to this length with insertion sort
+    private static final int MIN_PARALLEL_PIECE = 1024; // Pieces smaller than this are not split further
+    public static final int DEFAULT_PARALLEL_THRESHOLD = 1 << 14;
+    private static int parallelThreshold = DEFAULT_PARALLEL_THRESHOLD; // Lists this long are sorted in parallel
+
     /**
-     * Sorts the list of appointments based on the given key.
+     * Sets the list size at which sorting switches to the parallel fork-join mode.
      *
-     * @param list the list of appointments to sort
-     * @param key the sorting key:
-     *            A - sort by date, time, provider's name
-     *            P - sort by patient (last name, first name, dob, date, time)
-     *            L - sort by county name, date, time
-     *            O - sort office appointments first, then by county, date, time
-     *            I - sort imaging appointments first, then by county, date, time
+     * @param threshold the smallest list size sorted in parallel, at least 2
+     * @throws IllegalArgumentException if the threshold is less than 2
      */
-    public static void appointment(List<Appointment> list, char key) {
-        int n = list.size();
+    public static void setParallelThreshold(int threshold) {
+        if (threshold < 2) {
+            throw new IllegalArgumentException("Invalid parallel threshold: " + threshold);
+        }
+        parallelThreshold = threshold;
+    }
 
-        // Bubble Sort
-        for (int i = 0; i < n - 1; i++) {
-            for (int j = 0; j < n - i - 1; j++) {
-                Appointment a1 = list.get(j);
-                Appointment a2 = list.get(j + 1);
+    /**
+     * Returns the list size at which sorting switches to the parallel fork-join mode.
+     *
+     * @return the smallest list size sorted in parallel
+     */
+    public static int getParallelThreshold() {
+        return parallelThreshold;
+    }
 
-                if (compareAppointments(a1, a2, key) > 0) {
-                    // Swap using get() and set() methods
-                    list.set(j, a2);
-                    list.set(j + 1, a1);
-                }
+    /**
+     * Returns the ordering of the given sorting key as a total order, for views that
+     * are kept sorted instead of being re-sorted. Appointments that tie on the key are
+     * ordered by their natural order (date, timeslot, patient), then office before
+     * imaging, then by provider, since a patient can hold an office and an imaging
+     * appointment at the same timeslot. Only the same appointment compares as 0.
+     *
+     * @param key the sorting key, one of A, P or L
+     * @return a comparator for the key
+     */
+    public static Comparator<Appointment> appointmentOrder(char key) {
+        return (a1, a2) -> {
+            int keyCompare = compareAppointments(a1, a2, key);
+            if (keyCompare != 0) {
+                return keyCompare;
             }
-        }
+            int naturalCompare = a1.compareTo(a2);
+            if (naturalCompare != 0) {
+                return naturalCompare;
+            }
+            int typeCompare = Boolean.compare(a1 instanceof Imaging, a2 instanceof Imaging);
+            if (typeCompare != 0) {
+                return typeCompare;
+            }
+            return a1.getProvider().getProfile().compareTo(a2.getProvider().getProfile());
+        };
     }
 
     /**
@@ -47,7 +80,7 @@ public class Sort {
      * @param key the sorting key
      * @return negative if a1 < a2, 0 if a1 == a2, positive if a1 > a2
      */
-    private static int compareAppointments(Appointment a1, Appointment a2, char key) {
+    static int compareAppointments(Appointment a1, Appointment a2, char key) {
         switch (key) {
             case 'A':
                 // Sort by date, time, then provider's name
@@ -124,23 +157,235 @@ public class Sort {
      * @param list the list of providers to sort
      */
     public static void provider(List<Provider> list) {
+        sort(list, (p1, p2) -> p1.getLName().compareTo(p2.getLName()));
+    }
+
+    /**
+     * Stably sorts a list in place using the given comparator.
+     * Equal elements keep their relative order. Lists at or above the parallel
+     * threshold are sorted in parallel.
+     *
+     * @param list the list to sort
+     * @param comparator the ordering of the elements
+     * @param <E> the type of elements in the list
+     */
+    public static <E> void sort(List<E> list, Comparator<? super E> comparator) {
         int n = list.size();
-        // Bubble sort implementation
-        for (int i = 0; i < n - 1; i++) {
-            for (int j = 0; j < n - i - 1; j++) {
-                // Compare providers by last name
-                Provider currentProvider = list.get(j);
-                Provider nextProvider = list.get(j + 1);
-
-                // Compare last names, if current > next, swap them
-                if (currentProvider.getLName().compareTo(nextProvider.getLName()) > 0) {
-                    // Swap providers
-                    Provider temp = list.get(j);
-                    list.set(j, list.get(j + 1));
-                    list.set(j + 1, temp);
+        if (n < 2) {
+            return;
+        }
+        sortArray(list.elements(), n, comparator);
+        list.reordered();
+    }
+
+    /**
+     * Stably sorts the first n elements of an array, in parallel at or above the threshold.
+     *
+     * @param a the array to sort
+     * @param n the number of elements to sort
+     * @param comparator the ordering of the elements
+     * @param <E> the type of elements in the array
+     */
+    private static <E> void sortArray(E[] a, int n, Comparator<? super E> comparator) {
+        if (n >= parallelThreshold) {
+            E[] buffer = newBuffer(n);
+            int pieces = ForkJoinPool.commonPool().getParallelism() * 4;
+            int piece = Math.max(MIN_PARALLEL_PIECE, n / pieces);
+            ForkJoinPool.commonPool().invoke(new MergeTask<>(a, 0, n, buffer, piece, comparator));
+        } else {
+            mergeSort(a, 0, n, null, comparator);
+        }
+    }
+
+    /**
+     * Creates a scratch array for merging.
+     *
+     * @param length the length of the array
+     * @param <E> the type of elements in the array
+     * @return a new empty array
+     */
+    @SuppressWarnings("unchecked")
+    private static <E> E[] newBuffer(int length) {
+        return (E[]) new Object[length];
+    }
+
+    /**
+     * A fork-join task that sorts a range by sorting both halves in parallel and merging them.
+     * Each task only writes its own range of the array and of the buffer.
+     *
+     * @param <E> the type of elements being sorted
+     */
+    @SuppressWarnings("serial") // Never serialized, only run in the common pool
+    private static class MergeTask<E> extends RecursiveAction {
+        private final E[] a;
+        private final int lo;
+        private final int hi;
+        private final E[] buffer;
+        private final int piece;
+        private final Comparator<? super E> comparator;
+
+        MergeTask(E[] a, int lo, int hi, E[] buffer, int piece, Comparator<? super E> comparator) {
+            this.a = a;
+            this.lo = lo;
+            this.hi = hi;
+            this.buffer = buffer;
+            this.piece = piece;
+            this.comparator = comparator;
+        }
+
+        @Override
+        protected void compute() {
+            if (hi - lo <= piece) {
+                mergeSort(a, lo, hi, buffer, comparator);
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            invokeAll(new MergeTask<>(a, lo, mid, buffer, piece, comparator),
+                    new MergeTask<>(a, mid, hi, buffer, piece, comparator));
+            merge(a, lo, mid, hi, buffer, comparator);
+        }
+    }
+
+    /**
+     * Natural merge sort: finds the runs already in order, extends short runs with
+     * insertion sort, then merges neighbouring runs until one run is left.
+     *
+     * @param a the array to sort
+     * @param from the first index to sort
+     * @param to the index one past the last element to sort
+     * @param buffer scratch space covering [from, to), or null to allocate one if needed
+     * @param comparator the ordering of the elements
+     * @param <E> the type of elements in the array
+     */
+    private static <E> void mergeSort(E[] a, int from, int to, E[] buffer, Comparator<? super E> comparator) {
+        // Find the run boundaries, runStart[i] is where run i begins
+        int[] runStart = new int[(to - from) / MIN_RUN + 2];
+        int runs = 0;
+        int lo = from;
+        while (lo < to) {
+            int hi = runEnd(a, lo, to, comparator);
+            if (hi - lo < MIN_RUN) {
+                int forced = Math.min(lo + MIN_RUN, to);
+                insertionSort(a, lo, hi, forced, comparator);
+                hi = forced;
+            }
+            runStart[runs++] = lo;
+            lo = hi;
+        }
+        runStart[runs] = to;
+        if (runs <= 1) {
+            return; // Already sorted
+        }
+
+        // Merge neighbouring runs in passes until a single run is left
+        if (buffer == null) {
+            buffer = newBuffer(to);
+        }
+        while (runs > 1) {
+            int merged = 0;
+            for (int i = 0; i < runs; i += 2) {
+                if (i + 1 < runs) {
+                    merge(a, runStart[i], runStart[i + 1], runStart[i + 2], buffer, comparator);
                 }
+                runStart[merged++] = runStart[i];
+            }
+            runStart[merged] = to;
+            runs = merged;
+        }
+    }
+
+    /**
+     * Returns the end of the run starting at lo. A strictly descending run is
+     * reversed in place; non-strict descending runs are not, to keep the sort stable.
+     *
+     * @param a the array to scan
+     * @param lo the first index of the run
+     * @param n the end of the range being sorted
+     * @param comparator the ordering of the elements
+     * @param <E> the type of elements in the array
+     * @return the index one past the end of the run
+     */
+    private static <E> int runEnd(E[] a, int lo, int n, Comparator<? super E> comparator) {
+        int hi = lo + 1;
+        if (hi == n) {
+            return hi;
+        }
+        if (comparator.compare(a[hi], a[lo]) < 0) {
+            while (hi + 1 < n && comparator.compare(a[hi + 1], a[hi]) < 0) {
+                hi++;
+            }
+            hi++;
+            // Reverse the descending run
+            for (int i = lo, j = hi - 1; i < j; i++, j--) {
+                E temp = a[i];
+                a[i] = a[j];
+                a[j] = temp;
+            }
+        } else {
+            while (hi + 1 < n && comparator.compare(a[hi + 1], a[hi]) >= 0) {
+                hi++;
+            }
+            hi++;
+        }
+        return hi;
+    }
+
+    /**
+     * Extends the sorted range [lo, sorted) to [lo, hi) with binary insertion sort.
+     *
+     * @param a the array to sort
+     * @param lo the first index of the range
+     * @param sorted the end of the part that is already sorted
+     * @param hi the end of the range
+     * @param comparator the ordering of the elements
+     * @param <E> the type of elements in the array
+     */
+    private static <E> void insertionSort(E[] a, int lo, int sorted, int hi, Comparator<? super E> comparator) {
+        for (int i = sorted; i < hi; i++) {
+            E pivot = a[i];
+            // Find the first position whose element is greater than the pivot
+            int left = lo;
+            int right = i;
+            while (left < right) {
+                int mid = (left + right) >>> 1;
+                if (comparator.compare(pivot, a[mid]) < 0) {
+                    right = mid;
+                } else {
+                    left = mid + 1;
+                }
+            }
+            System.arraycopy(a, left, a, left + 1, i - left);
+            a[left] = pivot;
+        }
+    }
+
+    /**
+     * Merges the sorted ranges [lo, mid) and [mid, hi). Ties take the left element first.
+     *
+     * @param a the array holding both ranges
+     * @param lo the start of the left range
+     * @param mid the start of the right range
+     * @param hi the end of the right range
+     * @param buffer scratch space, the left range is copied to the same indices of it
+     * @param comparator the ordering of the elements
+     * @param <E> the type of elements in the array
+     */
+    private static <E> void merge(E[] a, int lo, int mid, int hi, E[] buffer, Comparator<? super E> comparator) {
+        if (comparator.compare(a[mid - 1], a[mid]) <= 0) {
+            return; // The ranges are already in order
+        }
+        System.arraycopy(a, lo, buffer, lo, mid - lo);
+        int i = lo; // Next in the buffered left range
+        int j = mid; // Next in the right range
+        int k = lo; // Next position to write
+        while (i < mid && j < hi) {
+            if (comparator.compare(a[j], buffer[i]) < 0) {
+                a[k++] = a[j++];
+            } else {
+                a[k++] = buffer[i++];
             }
         }
+        System.arraycopy(buffer, i, a, k, mid - i); // Right leftovers are already in place
     }
 
 }
@@ -0,0 +1,235 @@
+package util;
+
+import java.util.Comparator;
+import java.util.Iterator;
+
+/**
+ * A collection that keeps its elements ordered by a comparator at all times.
+ * Backed by an AVL tree, so add and remove are O(log n) and iterating in order
+ * is O(n) with no sorting work. The comparator must be a total order over the
+ * elements stored; elements that compare equal to one already stored are ignored.
+ *
+ * @author Richard Li (rl902)
+ * @param <E> the type of elements in this view
+ */
+public class SortedView<E> implements Iterable<E> {
+    private final Comparator<? super E> comparator; // The order the elements are kept in
+    private Node<E> root; // Root of the AVL tree
+    private int size; // The number of elements in the view
+
+    // A node of the AVL tree
+    private static final class Node<E> {
+        private E element;
+        private Node<E> left;
+        private Node<E> right;
+        private int height = 1;
+
+        Node(E element) {
+            this.element = element;
+        }
+    }
+
+    /**
+     * Constructs an empty view ordered by the given comparator.
+     *
+     * @param comparator the order to keep the elements in
+     */
+    public SortedView(Comparator<? super E> comparator) {
+        this.comparator = comparator;
+    }
+
+    /**
+     * Returns the number of elements in the view.
+     *
+     * @return the number of elements
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks if the view is empty.
+     *
+     * @return true if the view has no elements, false otherwise
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Adds an element in its sorted position.
+     *
+     * @param e the element to add
+     * @return true if the element was added, false if an equal element was already present
+     */
+    public boolean add(E e) {
+        int before = size;
+        root = insert(root, e);
+        return size != before;
+    }
+
+    /**
+     * Removes the element that compares equal to the given one.
+     *
+     * @param e the element to remove
+     * @return true if an element was removed, false if it was not found
+     */
+    public boolean remove(E e) {
+        int before = size;
+        root = delete(root, e);
+        return size != before;
+    }
+
+    /**
+     * Removes every element from the view.
+     */
+    public void clear() {
+        root = null;
+        size = 0;
+    }
+
+    /**
+     * Returns an iterator over the elements in sorted order.
+     *
+     * @return an in-order iterator
+     */
+    @Override
+    public Iterator<E> iterator() {
+        return new ViewIterator();
+    }
+
+    // Helper methods for the AVL tree
+    private static int height(Node<?> node) {
+        return (node == null) ? 0 : node.height;
+    }
+
+    private static void update(Node<?> node) {
+        node.height = Math.max(height(node.left), height(node.right)) + 1;
+    }
+
+    private static <E> Node<E> rotateRight(Node<E> node) {
+        Node<E> left = node.left;
+        node.left = left.right;
+        left.right = node;
+        update(node);
+        update(left);
+        return left;
+    }
+
+    private static <E> Node<E> rotateLeft(Node<E> node) {
+        Node<E> right = node.right;
+        node.right = right.left;
+        right.left = node;
+        update(node);
+        update(right);
+        return right;
+    }
+
+    /**
+     * Restores the AVL balance of a node whose subtrees differ in height by at most 2.
+     *
+     * @param node the node to balance
+     * @return the new root of the subtree
+     */
+    private static <E> Node<E> balance(Node<E> node) {
+        update(node);
+        int diff = height(node.left) - height(node.right);
+        if (diff > 1) {
+            if (height(node.left.left) < height(node.left.right)) {
+                node.left = rotateLeft(node.left);
+            }
+            return rotateRight(node);
+        }
+        if (diff < -1) {
+            if (height(node.right.right) < height(node.right.left)) {
+                node.right = rotateRight(node.right);
+            }
+            return rotateLeft(node);
+        }
+        return node;
+    }
+
+    private Node<E> insert(Node<E> node, E e) {
+        if (node == null) {
+            size++;
+            return new Node<>(e);
+        }
+        int compare = comparator.compare(e, node.element);
+        if (compare < 0) {
+            node.left = insert(node.left, e);
+        } else if (compare > 0) {
+            node.right = insert(node.right, e);
+        } else {
+            return node; // Already present
+        }
+        return balance(node);
+    }
+
+    private Node<E> delete(Node<E> node, E e) {
+        if (node == null) {
+            return null; // Not found
+        }
+        int compare = comparator.compare(e, node.element);
+        if (compare < 0) {
+            node.left = delete(node.left, e);
+        } else if (compare > 0) {
+            node.right = delete(node.right, e);
+        } else {
+            if (node.left == null || node.right == null) {
+                size--;
+                return (node.left != null) ? node.left : node.right;
+            }
+            // Replace with the smallest element of the right subtree, then delete that one
+            Node<E> successor = node.right;
+            while (successor.left != null) {
+                successor = successor.left;
+            }
+            node.element = successor.element;
+            node.right = delete(node.right, successor.element);
+        }
+        return balance(node);
+    }
+
+    // Inner class for the in-order iterator
+    private class ViewIterator implements Iterator<E> {
+        private final Object[] stack = new Object[height(root) + 1]; // Nodes still to visit
+        private int depth = 0;
+
+        ViewIterator() {
+            pushLeft(root);
+        }
+
+        private void pushLeft(Node<E> node) {
+            while (node != null) {
+                stack[depth++] = node;
+                node = node.left;
+            }
+        }
+
+        /**
+         * Checks if there are more elements to iterate over.
+         *
+         * @return true if there are more elements, false otherwise
+         */
+        @Override
+        public boolean hasNext() {
+            return depth > 0;
+        }
+
+        /**
+         * Returns the next element in sorted order.
+         *
+         * @return the next element, or null if there are no more elements
+         */
+        @Override
+        @SuppressWarnings("unchecked")
+        public E next() {
+            if (!hasNext()) {
+                return null; // Same as List's iterator
+            }
+            Node<E> node = (Node<E>) stack[--depth];
+            pushLeft(node.right);
+            return node.element;
+        }
+    }
+}